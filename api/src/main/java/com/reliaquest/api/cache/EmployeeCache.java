@@ -0,0 +1,150 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, least-recently-used cache of single-employee lookups. Found employees are kept for the configured TTL
+ * and misses (a {@code null} load, i.e. upstream 404) for a shorter negative TTL. Creates and deletes made through
+ * this service write through via {@link #put(Employee)} and {@link #invalidate(String)}; a load that overlaps such a
+ * write is returned to its caller but not cached, so it cannot reinstate a deleted employee or hide a new one.
+ */
+@Component
+public class EmployeeCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public EmployeeCache(
+            @Value("${cache.employee.max-size:10000}") int maxSize,
+            @Value("${cache.employee.ttl:30s}") Duration ttl,
+            @Value("${cache.employee.negative-ttl:5s}") Duration negativeTtl) {
+        this(maxSize, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    EmployeeCache(int maxSize, Duration ttl, Duration negativeTtl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > EmployeeCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached employee, or {@code null} for a cached miss; otherwise the result of {@code loader}, which
+     *     is cached whether or not it found the employee
+     */
+    public Employee get(String id, Function<String, Employee> loader) {
+        Entry cached = lookup(id);
+        if (cached != null) {
+            return cached.employee();
+        }
+        long generation = writes.get();
+        Employee loaded = loader.apply(id);
+        store(id, loaded, generation);
+        return loaded;
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(String, Function)}.
+     */
+    public CompletableFuture<Employee> getAsync(String id, Function<String, CompletableFuture<Employee>> loader) {
+        Entry cached = lookup(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.employee());
+        }
+        long generation = writes.get();
+        return loader.apply(id).thenApply(loaded -> {
+            store(id, loaded, generation);
+            return loaded;
+        });
+    }
+
+    public void put(Employee employee) {
+        lock.lock();
+        try {
+            writes.incrementAndGet();
+            entries.put(employee.getId(), new Entry(employee, clock.instant().plus(ttl)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String id) {
+        lock.lock();
+        try {
+            writes.incrementAndGet();
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EmployeeCacheStats stats() {
+        lock.lock();
+        try {
+            return new EmployeeCacheStats(entries.size(), hits.sum(), negativeHits.sum(), misses.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry lookup(String id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+                (entry.employee() == null ? negativeHits : hits).increment();
+                return entry;
+            }
+            if (entry != null) {
+                entries.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(String id, Employee loaded, long generation) {
+        Instant expiresAt = clock.instant().plus(loaded == null ? negativeTtl : ttl);
+        lock.lock();
+        try {
+            if (writes.get() == generation) {
+                entries.put(id, new Entry(loaded, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(Employee employee, Instant expiresAt) {}
+}
@@ -0,0 +1,3 @@
+package com.reliaquest.api.cache;
+
+public record EmployeeCacheStats(int size, long hits, long negativeHits, long misses) {}
@@ -0,0 +1,247 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-folded trigram index over employee names. Each employee occupies a slot; every trigram of its folded name maps
+ * to an ascending list of slots. A substring query takes the shortest posting list among the fragment's trigrams and
+ * verifies only those candidates, so results come back in insertion order and a query allocates little beyond its
+ * result list. Fragments shorter than a trigram fall back to a scan over the pre-folded names. Not thread-safe,
+ * guarded by the owning {@link Roster}.
+ *
+ * <p>Removal only empties a slot. Once empty slots outnumber live ones the index is rebuilt over the live employees in
+ * their order, so a roster kept current by in-place changes neither leaks slots nor slows its searches.
+ */
+final class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private TrigramTable postings = new TrigramTable();
+    private Employee[] employees = new Employee[16];
+    private String[] foldedNames = new String[16];
+    private int nextSlot;
+
+    void add(Employee employee) {
+        if (employee.getName() == null) {
+            return;
+        }
+        String folded = fold(employee.getName());
+        int slot = nextSlot++;
+        ensureCapacity(slot);
+        employees[slot] = employee;
+        foldedNames[slot] = folded;
+        slotsById.put(employee.getId(), slot);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            postings.getOrCreate(trigram(folded, i)).add(slot);
+        }
+    }
+
+    void remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        String folded = foldedNames[slot];
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            Postings posting = postings.get(trigram(folded, i));
+            if (posting != null) {
+                posting.remove(slot);
+            }
+        }
+        employees[slot] = null;
+        foldedNames[slot] = null;
+        int emptySlots = nextSlot - slotsById.size();
+        if (emptySlots >= MIN_COMPACTION_SLOTS && emptySlots > slotsById.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * @return slots in use, live or emptied by a removal
+     */
+    int slotCount() {
+        return nextSlot;
+    }
+
+    List<Employee> search(String fragment) {
+        String folded = fold(fragment);
+        if (folded.length() < GRAM) {
+            return scan(folded);
+        }
+        Postings shortest = null;
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            Postings posting = postings.get(trigram(folded, i));
+            if (posting == null || posting.size == 0) {
+                return new ArrayList<>();
+            }
+            if (shortest == null || posting.size < shortest.size) {
+                shortest = posting;
+            }
+        }
+        List<Employee> matches = new ArrayList<>();
+        for (int i = 0; i < shortest.size; i++) {
+            int slot = shortest.slots[i];
+            if (foldedNames[slot].contains(folded)) {
+                matches.add(employees[slot]);
+            }
+        }
+        return matches;
+    }
+
+    static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private List<Employee> scan(String folded) {
+        List<Employee> matches = new ArrayList<>();
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (foldedNames[slot] != null && foldedNames[slot].contains(folded)) {
+                matches.add(employees[slot]);
+            }
+        }
+        return matches;
+    }
+
+    /*
+     * Re-adds the live employees in slot order, so they keep their relative order and every posting list comes out
+     * without emptied slots or emptied trigrams.
+     */
+    private void compact() {
+        List<Employee> live = new ArrayList<>(slotsById.size());
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (employees[slot] != null) {
+                live.add(employees[slot]);
+            }
+        }
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, live.size())) * 2);
+        employees = new Employee[capacity];
+        foldedNames = new String[capacity];
+        postings = new TrigramTable();
+        slotsById.clear();
+        nextSlot = 0;
+        live.forEach(this::add);
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < employees.length) {
+            return;
+        }
+        int capacity = employees.length * 2;
+        employees = Arrays.copyOf(employees, capacity);
+        foldedNames = Arrays.copyOf(foldedNames, capacity);
+    }
+
+    private static long trigram(String folded, int offset) {
+        return ((long) folded.charAt(offset) << 32)
+                | ((long) folded.charAt(offset + 1) << 16)
+                | folded.charAt(offset + 2);
+    }
+
+    /*
+     * Slots only ever grow, so appending keeps each list sorted and a repeated trigram within one name is the last
+     * element.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+
+    /*
+     * Open-addressing map from packed trigram to postings, avoiding a boxed key per lookup. Trigrams are never
+     * removed; an emptied posting list stays behind until the index is compacted or the roster is reloaded.
+     */
+    private static final class TrigramTable {
+
+        private static final long EMPTY = -1L;
+
+        private long[] keys = newKeys(1024);
+        private Postings[] values = new Postings[1024];
+        private int size;
+
+        Postings get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == EMPTY) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+        }
+
+        Postings getOrCreate(long key) {
+            Postings existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            Postings created = new Postings();
+            insert(keys, values, key, created);
+            size++;
+            return created;
+        }
+
+        private void resize() {
+            long[] resizedKeys = newKeys(keys.length * 2);
+            Postings[] resizedValues = new Postings[values.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    insert(resizedKeys, resizedValues, keys[i], values[i]);
+                }
+            }
+            keys = resizedKeys;
+            values = resizedValues;
+        }
+
+        private static void insert(long[] keys, Postings[] values, long key, Postings value) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collector;
+
+/**
+ * Indexed, versioned copy of the upstream roster. Built by {@link RosterCache} directly from the streamed upstream
+ * response and then kept current in place as employees are created and deleted through this service; every change
+ * takes a new version.
+ *
+ * <p>A roster also remembers the upstream entity tag it was loaded under, so a refresh can ask upstream whether
+ * anything changed and, on 304 Not Modified, keep serving this copy with its age reset.
+ */
+public final class Roster {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Employee> employeesById = new LinkedHashMap<>();
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private final NameIndex nameIndex = new NameIndex();
+    private final LongSupplier versions;
+    private final Instant loadedAt;
+
+    private volatile long version;
+    private volatile Instant validatedAt;
+    private volatile String eTag;
+    private volatile boolean stale;
+    private volatile List<Employee> employeesView;
+
+    private Roster(LongSupplier versions, Instant loadedAt) {
+        this.versions = versions;
+        this.loadedAt = loadedAt;
+        this.validatedAt = loadedAt;
+    }
+
+    /**
+     * Indexes employees one at a time as they are decoded; the roster takes its version once complete. The roster
+     * is confined to the collecting thread until it is published.
+     */
+    static Collector<Employee, Roster, Roster> collector(LongSupplier versions, Clock clock) {
+        return Collector.of(
+                () -> new Roster(versions, clock.instant()),
+                Roster::put,
+                (left, right) -> {
+                    right.employeesById.values().forEach(left::put);
+                    return left;
+                },
+                roster -> {
+                    roster.version = versions.getAsLong();
+                    return roster;
+                });
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return employeesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return an immutable list of all employees in upstream order, shared between readers until the next change
+     */
+    public List<Employee> employees() {
+        List<Employee> view = employeesView;
+        if (view != null) {
+            return view;
+        }
+        lock.readLock().lock();
+        try {
+            view = Collections.unmodifiableList(new ArrayList<>(employeesById.values()));
+            employeesView = view;
+            return view;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Employee> findById(String id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(employeesById.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return employees whose name contains {@code fragment}, ignoring case, in the order they joined the roster
+     */
+    public List<Employee> searchByName(String fragment) {
+        lock.readLock().lock();
+        try {
+            return nameIndex.search(fragment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Integer highestSalary() {
+        lock.readLock().lock();
+        try {
+            return salaryIndex.highest();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> topEarners(int limit) {
+        lock.readLock().lock();
+        try {
+            return salaryIndex.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            put(employee);
+            changed();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (delete(id)) {
+                changed();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies upstream changes in order as one change. Both kinds are idempotent, so changes this roster already
+     * reflects are harmless.
+     */
+    void apply(List<EmployeeChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (EmployeeChange change : changes) {
+                switch (change.type()) {
+                    case CREATED -> put(change.employee());
+                    case DELETED -> delete(change.employee().getId());
+                }
+            }
+            changed();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return time since the roster was loaded or last confirmed unchanged upstream
+     */
+    Duration age(Instant now) {
+        return Duration.between(validatedAt, now);
+    }
+
+    /**
+     * @return the upstream entity tag of the loaded roster, or {@code null} if upstream sent none
+     */
+    String eTag() {
+        return eTag;
+    }
+
+    void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    /**
+     * Records that upstream still holds the roster this copy was loaded from, so it is fresh again.
+     */
+    void revalidated(Instant now) {
+        validatedAt = now;
+        stale = false;
+    }
+
+    /**
+     * Records that the roster was known to be current at {@code now}, keeping any pending invalidation.
+     */
+    void confirmedAt(Instant now) {
+        validatedAt = now;
+    }
+
+    void markStale() {
+        stale = true;
+    }
+
+    boolean isExpired(Duration ttl, Instant now) {
+        return stale || age(now).compareTo(ttl) >= 0;
+    }
+
+    private void put(Employee employee) {
+        Employee previous = employeesById.put(employee.getId(), employee);
+        if (previous != null) {
+            salaryIndex.remove(previous);
+            nameIndex.remove(previous.getId());
+        }
+        salaryIndex.add(employee);
+        nameIndex.add(employee);
+    }
+
+    private boolean delete(String id) {
+        Employee removed = employeesById.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        salaryIndex.remove(removed);
+        nameIndex.remove(id);
+        return true;
+    }
+
+    private void changed() {
+        employeesView = null;
+        version = versions.getAsLong();
+    }
+}
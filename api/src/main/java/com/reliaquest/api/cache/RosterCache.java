@@ -0,0 +1,416 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.ConditionalResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stale-while-revalidate cache of the full upstream roster. The first read loads synchronously; afterwards reads
+ * always return the last good roster and, once it is older than the configured TTL, trigger a single background
+ * refresh. A failed refresh keeps the previous roster in service.
+ *
+ * <p>With a positive page size the roster is loaded page by page, each page a separately retried request, so a
+ * large roster never travels as one response; otherwise it is streamed from a single request. Refreshes are
+ * conditional on the cached roster's entity tag: if upstream answers 304 the roster is kept, with its age reset,
+ * and nothing is transferred or rebuilt. Where upstream has a change feed, a refresh first asks it for the creates
+ * and deletes since the cached roster's version and applies them in place, so its cost follows churn rather than
+ * roster size; only when upstream asks for a resync is the roster reloaded. Upstream does not charge a feed request
+ * from its current version against the rate limit, just as it does not charge a 304.
+ *
+ * <p>Creates and deletes made through this service are applied to the cached {@link Roster} in place. They are
+ * also remembered briefly and replayed onto any roster whose load started before them, so a refresh that was
+ * already in flight cannot resurrect a deleted employee or drop a new one.
+ */
+@Slf4j
+@Component
+public class RosterCache {
+
+    private static final int MAX_REPLAYED_CHANGES = 1024;
+
+    private final ApiClient apiClient;
+    private final Duration ttl;
+    private final int pageSize;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<Roster> roster = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final AtomicReference<CompletableFuture<Roster>> asyncLoad = new AtomicReference<>();
+
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final Deque<RosterChange> recentChanges = new ArrayDeque<>();
+    private long changeSequence;
+
+    @Autowired
+    public RosterCache(
+            ApiClient apiClient,
+            @Value("${cache.roster.ttl:30s}") Duration ttl,
+            @Value("${external.api.page-size:0}") int pageSize) {
+        this(
+                apiClient,
+                ttl,
+                pageSize,
+                Executors.newSingleThreadExecutor(RosterCache::newRefreshThread),
+                Clock.systemUTC());
+    }
+
+    RosterCache(ApiClient apiClient, Duration ttl, int pageSize, Executor refreshExecutor, Clock clock) {
+        this.apiClient = apiClient;
+        this.ttl = ttl;
+        this.pageSize = pageSize;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cached roster, or {@code null} if none is cached yet and the initial load failed
+     */
+    public Roster getRoster() {
+        Roster current = getRosterIfCached();
+        if (current == null) {
+            misses.increment();
+            return loadIfAbsent();
+        }
+        return current;
+    }
+
+    /**
+     * Like {@link #getRoster()}, but never loads a missing roster.
+     *
+     * @return the cached roster, refreshed in the background once expired, or {@code null} if none is cached
+     */
+    public Roster getRosterIfCached() {
+        Roster current = roster.get();
+        if (current != null) {
+            hits.increment();
+            if (current.isExpired(ttl, clock.instant())) {
+                refreshAsync();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Starts loading the roster in the background if none is cached yet, so later reads are served in memory.
+     */
+    public void prefetch() {
+        if (roster.get() == null) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * @return the cached roster as is, without loading, refreshing or counting a hit; {@code null} if none is cached
+     */
+    public Roster peek() {
+        return roster.get();
+    }
+
+    /**
+     * @return all cached employees, or {@code null} if none are cached yet and the initial load failed
+     */
+    public List<Employee> getEmployees() {
+        Roster current = getRoster();
+        return current == null ? null : current.employees();
+    }
+
+    /**
+     * Non-blocking variant of {@link #getEmployees()}: a cached roster completes immediately, otherwise the roster
+     * is streamed through {@code loader} into the given collector and published on completion. Misses while a load
+     * is in flight share it rather than starting their own.
+     */
+    public CompletableFuture<List<Employee>> getEmployeesAsync(
+            Function<Collector<Employee, ?, Roster>, CompletableFuture<Roster>> loader) {
+        Roster current = roster.get();
+        if (current == null) {
+            misses.increment();
+            return loadAsyncIfAbsent(loader).thenApply(loaded -> loaded == null ? null : loaded.employees());
+        }
+        hits.increment();
+        if (current.isExpired(ttl, clock.instant())) {
+            refreshAsync();
+        }
+        return CompletableFuture.completedFuture(current.employees());
+    }
+
+    public void employeeCreated(Employee employee) {
+        apply(cached -> cached.add(employee));
+    }
+
+    public void employeeDeleted(String id) {
+        apply(cached -> cached.remove(id));
+    }
+
+    /**
+     * Marks the cached roster as expired so the next read triggers a background refresh.
+     */
+    public void invalidate() {
+        Roster current = roster.get();
+        if (current != null) {
+            current.markStale();
+        }
+    }
+
+    /**
+     * Records that the cached roster is current, as on a push heartbeat, so it does not expire meanwhile. A pending
+     * invalidation still triggers its refresh.
+     */
+    public void confirmCurrent() {
+        Roster current = roster.get();
+        if (current != null) {
+            current.confirmedAt(clock.instant());
+        }
+    }
+
+    /**
+     * Invalidates the cached roster and starts its background refresh now rather than on the next read.
+     */
+    public void resync() {
+        Roster current = roster.get();
+        if (current != null) {
+            current.markStale();
+            refreshAsync();
+        }
+    }
+
+    public RosterCacheStats stats() {
+        Roster current = roster.get();
+        return current == null
+                ? new RosterCacheStats(0, 0, Duration.ZERO, hits.sum(), misses.sum(), refreshing.get())
+                : new RosterCacheStats(
+                        current.version(),
+                        current.size(),
+                        current.age(clock.instant()),
+                        hits.sum(),
+                        misses.sum(),
+                        refreshing.get());
+    }
+
+    private Roster loadIfAbsent() {
+        // A ReentrantLock rather than synchronized: the load blocks on I/O and retry backoff, which would pin the
+        // carrier thread when requests run on virtual threads.
+        loadLock.lock();
+        try {
+            Roster current = roster.get();
+            return current != null ? current : load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private CompletableFuture<Roster> loadAsyncIfAbsent(
+            Function<Collector<Employee, ?, Roster>, CompletableFuture<Roster>> loader) {
+        CompletableFuture<Roster> flight = new CompletableFuture<>();
+        CompletableFuture<Roster> existing = asyncLoad.compareAndExchange(null, flight);
+        if (existing != null) {
+            return existing;
+        }
+        Roster current = roster.get();
+        if (current != null) {
+            asyncLoad.set(null);
+            flight.complete(current);
+            return flight;
+        }
+        long loadStartedAt = currentChangeSequence();
+        CompletableFuture<Roster> load;
+        try {
+            load = loader.apply(rosterCollector());
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        // The flight is cleared before it completes, so a miss after a failed load starts a new one.
+        load.thenApply(loaded -> loaded == null ? null : publish(loaded, loadStartedAt))
+                .whenComplete((loaded, error) -> {
+                    asyncLoad.set(null);
+                    if (error != null) {
+                        flight.completeExceptionally(error);
+                    } else {
+                        flight.complete(loaded);
+                    }
+                });
+        return flight;
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    if (roster.get() == null) {
+                        loadIfAbsent();
+                    } else {
+                        load();
+                    }
+                } catch (Exception e) {
+                    log.warn(
+                            "[{}] occurred during roster refresh, serving previous roster. Error Message: {}.",
+                            e.getClass().getSimpleName(),
+                            e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            log.warn("Roster refresh could not be scheduled: {}", e.getMessage());
+        }
+    }
+
+    private Roster load() {
+        long loadStartedAt = currentChangeSequence();
+        Roster current = roster.get();
+        String eTag = current == null ? null : current.eTag();
+        if (eTag != null && apiClient.supportsChangeFeed() && sync(current, loadStartedAt)) {
+            return current;
+        }
+        ConditionalResponse<Roster> response =
+                pageSize > 0 ? loadPages(eTag) : apiClient.getAllEmployeesIfModified(rosterCollector(), eTag);
+        if (response != null && response.notModified() && current != null) {
+            current.revalidated(clock.instant());
+            log.debug("Roster version {} unchanged upstream.", current.version());
+            return current;
+        }
+        if (response == null || response.value() == null) {
+            log.warn("Roster load returned no data, keeping roster version {}.", stats().version());
+            return null;
+        }
+        Roster loaded = response.value();
+        loaded.setETag(response.eTag());
+        return publish(loaded, loadStartedAt);
+    }
+
+    /**
+     * Brings {@code current} up to date from the upstream change feed. Local changes made since the feed was requested
+     * are replayed on top, as for a full load, so the feed cannot undo them.
+     *
+     * @return whether the roster was synced; if not, it must be reloaded
+     */
+    private boolean sync(Roster current, long loadStartedAt) {
+        EmployeeChanges changes = apiClient.getChangesSince(current.eTag());
+        if (changes == null || changes.resyncRequired()) {
+            log.debug("Change feed unavailable for roster version {}, reloading.", current.version());
+            return false;
+        }
+        changeLock.lock();
+        try {
+            current.apply(changes.changes());
+            recentChanges.stream()
+                    .filter(change -> change.sequence() > loadStartedAt)
+                    .forEach(change -> change.change().accept(current));
+            current.setETag("\"" + changes.version() + "\"");
+        } finally {
+            changeLock.unlock();
+        }
+        current.revalidated(clock.instant());
+        log.debug("Roster version {} synced with {} upstream changes.", current.version(), changes.changes().size());
+        return true;
+    }
+
+    private ConditionalResponse<Roster> loadPages(String eTag) {
+        ConditionalResponse<EmployeePage> first = apiClient.getFirstEmployeesPageIfModified(pageSize, eTag);
+        if (first == null || first.notModified()) {
+            return first == null ? null : ConditionalResponse.notModified(first.eTag());
+        }
+        Collector<Employee, Roster, Roster> collector = rosterCollector();
+        Roster loading = collector.supplier().get();
+        EmployeePage page = first.value();
+        while (true) {
+            page.employees().forEach(employee -> collector.accumulator().accept(loading, employee));
+            if (page.nextCursor() == null) {
+                return ConditionalResponse.modified(collector.finisher().apply(loading), first.eTag());
+            }
+            page = apiClient.getEmployeesPage(pageSize, page.nextCursor());
+            if (page == null) {
+                return null;
+            }
+        }
+    }
+
+    private Collector<Employee, Roster, Roster> rosterCollector() {
+        return Roster.collector(versions::incrementAndGet, clock);
+    }
+
+    private Roster publish(Roster loaded, long loadStartedAt) {
+        changeLock.lock();
+        try {
+            recentChanges.stream()
+                    .filter(change -> change.sequence() > loadStartedAt)
+                    .forEach(change -> change.change().accept(loaded));
+            roster.set(loaded);
+        } finally {
+            changeLock.unlock();
+        }
+        log.debug("Roster version {} loaded with {} employees.", loaded.version(), loaded.size());
+        return loaded;
+    }
+
+    private void apply(Consumer<Roster> change) {
+        changeLock.lock();
+        try {
+            recentChanges.addLast(new RosterChange(++changeSequence, change));
+            if (recentChanges.size() > MAX_REPLAYED_CHANGES) {
+                recentChanges.removeFirst();
+            }
+            Roster current = roster.get();
+            if (current != null) {
+                change.accept(current);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private long currentChangeSequence() {
+        changeLock.lock();
+        try {
+            return changeSequence;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static Thread newRefreshThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record RosterChange(long sequence, Consumer<Roster> change) {}
+}
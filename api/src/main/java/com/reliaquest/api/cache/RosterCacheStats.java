@@ -0,0 +1,5 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+
+public record RosterCacheStats(long version, int size, Duration age, long hits, long misses, boolean refreshing) {}
@@ -0,0 +1,155 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ChangeStreamListener;
+import com.reliaquest.api.client.UnsupportedQueryException;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the caches current from the upstream change stream instead of by polling. Pushed creates and deletes are
+ * applied exactly like local ones, so a roster load that overlaps them cannot undo them, and every event or heartbeat
+ * confirms the cached roster so it does not expire. A resync event reloads the roster.
+ *
+ * <p>After a failure the stream is reopened with exponential backoff, resuming from the last event seen, or else the
+ * cached roster's version. If the stream dies silently the heartbeats stop, the roster ages, and the cache falls back
+ * to refreshing on its TTL. An upstream without a change stream is not asked again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.roster.push.enabled", havingValue = "true")
+public class RosterPushSubscriber implements SmartLifecycle, ChangeStreamListener {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private final ApiClient apiClient;
+    private final RosterCache rosterCache;
+    private final EmployeeCache employeeCache;
+    private final Duration maxBackoff;
+
+    private volatile boolean running;
+    private volatile boolean opened;
+    private volatile String lastEventId;
+    private volatile Thread thread;
+
+    public RosterPushSubscriber(
+            ApiClient apiClient,
+            RosterCache rosterCache,
+            EmployeeCache employeeCache,
+            @Value("${cache.roster.push.max-backoff:30s}") Duration maxBackoff) {
+        this.apiClient = apiClient;
+        this.rosterCache = rosterCache;
+        this.employeeCache = employeeCache;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread subscriber = new Thread(this::run, "roster-push");
+        subscriber.setDaemon(true);
+        thread = subscriber;
+        subscriber.start();
+    }
+
+    /*
+     * A blocked stream read does not notice the interrupt; it fails once the HTTP client is closed on shutdown.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread subscriber = thread;
+        if (subscriber != null) {
+            subscriber.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void onOpen() {
+        opened = true;
+        log.info("Roster change stream opened.");
+    }
+
+    @Override
+    public void onChange(EmployeeChange change, String eventId) {
+        switch (change.type()) {
+            case CREATED -> {
+                rosterCache.employeeCreated(change.employee());
+                employeeCache.put(change.employee());
+            }
+            case DELETED -> {
+                rosterCache.employeeDeleted(change.employee().getId());
+                employeeCache.invalidate(change.employee().getId());
+            }
+        }
+        lastEventId = eventId;
+        rosterCache.confirmCurrent();
+    }
+
+    /*
+     * The reload brings the roster past the dropped changes, so the stream resumes from the roster's version.
+     */
+    @Override
+    public void onResync() {
+        log.info("Roster change stream asked for a resync, reloading the roster.");
+        lastEventId = null;
+        rosterCache.resync();
+    }
+
+    @Override
+    public void onHeartbeat() {
+        rosterCache.confirmCurrent();
+    }
+
+    private void run() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            opened = false;
+            try {
+                apiClient.streamChanges(resumeFrom(), this);
+                log.info("Roster change stream ended, reconnecting.");
+            } catch (UnsupportedQueryException e) {
+                log.warn("Upstream has no change stream, the roster will be refreshed on its TTL.");
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn(
+                        "[{}] occurred on the roster change stream, reconnecting in {} ms. Error Message: {}.",
+                        e.getClass().getSimpleName(),
+                        backoff.toMillis(),
+                        e.getMessage());
+            }
+            if (opened) {
+                backoff = INITIAL_BACKOFF;
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+        }
+    }
+
+    private String resumeFrom() {
+        String eventId = lastEventId;
+        if (eventId != null) {
+            return eventId;
+        }
+        Roster roster = rosterCache.peek();
+        return roster == null ? null : roster.eTag();
+    }
+}
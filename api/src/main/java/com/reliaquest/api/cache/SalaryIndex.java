@@ -0,0 +1,64 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Employees bucketed by salary in descending order, ties kept in insertion order. The highest salary is tracked
+ * eagerly so reads are O(1); top-N walks the first buckets only. Employees without a salary are not indexed. Not
+ * thread-safe, guarded by the owning {@link Roster}.
+ */
+final class SalaryIndex {
+
+    private final NavigableMap<Integer, Map<String, Employee>> bySalary = new TreeMap<>(Comparator.reverseOrder());
+    private Integer highest;
+
+    void add(Employee employee) {
+        Integer salary = employee.getSalary();
+        if (salary == null) {
+            return;
+        }
+        bySalary.computeIfAbsent(salary, ignored -> new LinkedHashMap<>()).put(employee.getId(), employee);
+        if (highest == null || salary > highest) {
+            highest = salary;
+        }
+    }
+
+    void remove(Employee employee) {
+        Integer salary = employee.getSalary();
+        if (salary == null) {
+            return;
+        }
+        Map<String, Employee> bucket = bySalary.get(salary);
+        if (bucket == null || bucket.remove(employee.getId()) == null || !bucket.isEmpty()) {
+            return;
+        }
+        bySalary.remove(salary);
+        if (salary.equals(highest)) {
+            highest = bySalary.isEmpty() ? null : bySalary.firstKey();
+        }
+    }
+
+    Integer highest() {
+        return highest;
+    }
+
+    List<Employee> top(int limit) {
+        List<Employee> top = new ArrayList<>(limit);
+        for (Map<String, Employee> bucket : bySalary.values()) {
+            for (Employee employee : bucket.values()) {
+                if (top.size() == limit) {
+                    return top;
+                }
+                top.add(employee);
+            }
+        }
+        return top;
+    }
+}
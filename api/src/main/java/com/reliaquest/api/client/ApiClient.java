@@ -4,11 +4,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.config.ApiRetryable;
 import com.reliaquest.api.model.ApiDataResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.ConditionalResponse;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import io.micrometer.core.annotation.Timed;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,61 +25,389 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ApiClient {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /*
+     * Only methods that call upstream are timed; the capability checks and the long-lived change stream would skew
+     * the latencies.
+     */
+    private static final String CALLS_METRIC = "api.client.calls";
+    private static final String CALLS_DESCRIPTION = "Upstream calls per ApiClient method";
+
     private final RestTemplate restTemplate;
 
     @Value("${external.api.base-url}")
     private String baseUrl;
 
+    // Also how long a missing change feed is remembered.
+    @Value("${external.api.query-recheck-interval:5m}")
+    private Duration queryRecheckInterval = Duration.ofMinutes(5);
+
     HttpEntity<String> httpEntity;
 
+    private volatile boolean queriesSupported = true;
+    private volatile long queriesUnsupportedAt;
+
+    private volatile boolean changeFeedSupported = true;
+    private volatile long changeFeedUnsupportedAt;
+
+    private final SingleFlight<String, ResponseEntity<ApiDataResponse<Employee>>> employeeByIdFlight =
+            new SingleFlight<>();
+
+    /**
+     * Loads the whole roster, decoding employees one at a time straight into {@code collector}, so the roster is
+     * never materialized as an intermediate list. Every attempt starts a fresh accumulation. Roster loads are not
+     * coalesced here: they are all driven by {@code RosterCache}, which runs one at a time.
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
     @ApiRetryable
-    public List<Employee> getAllEmployees() {
-        log.info("Entered ApiClient.getAllEmployees method.");
+    public <R> R getAllEmployees(Collector<Employee, ?, R> collector) {
+        return getAllEmployeesOnce(collector);
+    }
+
+    /**
+     * Conditional variant of {@link #getAllEmployees(Collector)}: with the entity tag of a roster already held,
+     * upstream answers 304 without a body if nothing changed, and nothing is collected.
+     *
+     * @param eTag entity tag of the caller's roster, or {@code null} to always load
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public <R> ConditionalResponse<R> getAllEmployeesIfModified(Collector<Employee, ?, R> collector, String eTag) {
+        return getAllEmployeesIfModifiedOnce(collector, eTag);
+    }
+
+    /**
+     * @param cursor token from the previous page, or {@code null} for the first page
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public EmployeePage getEmployeesPage(int size, String cursor) {
+        return getEmployeesPageOnce(size, cursor);
+    }
+
+    /**
+     * Conditional variant of the first {@link #getEmployeesPage(int, String)} call. The entity tag covers the whole
+     * roster, so 304 means no page has changed and the rest need not be fetched either.
+     *
+     * @param eTag entity tag of the caller's roster, or {@code null} to always load
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public ConditionalResponse<EmployeePage> getFirstEmployeesPageIfModified(int size, String eTag) {
+        return getFirstEmployeesPageIfModifiedOnce(size, eTag);
+    }
+
+    /**
+     * Upstream change feed: the creates and deletes since a roster version, which is the roster's entity tag. An
+     * upstream without a change feed answers 404; that is remembered, and for the recheck interval this returns
+     * {@code null} without a request.
+     *
+     * @return the changes, or {@code null} if they could not be fetched
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public EmployeeChanges getChangesSince(String version) {
+        return getChangesSinceOnce(version);
+    }
+
+    public boolean supportsChangeFeed() {
+        if (!changeFeedSupported && System.nanoTime() - changeFeedUnsupportedAt >= queryRecheckInterval.toNanos()) {
+            log.info("Rechecking upstream change feed.");
+            changeFeedSupported = true;
+        }
+        return changeFeedSupported;
+    }
+
+    /**
+     * Opens the upstream change stream and blocks, handing its events to {@code listener}, until the stream ends or
+     * fails. Not retried: the caller reconnects from the last version it saw. The upstream heartbeat keeps an idle
+     * stream within the read timeout.
+     *
+     * @param since roster version to resume from, or {@code null} for new changes only
+     * @throws UnsupportedQueryException if upstream has no change stream
+     */
+    public void streamChanges(String since, ChangeStreamListener listener) {
+        log.info("Entered ApiClient.streamChanges method with since: {}.", since);
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/changes/stream")
+                .queryParamIfPresent("since", Optional.ofNullable(since))
+                .encode()
+                .build()
+                .toUri();
         try {
-            ResponseEntity<ApiDataResponse<List<Employee>>> responseEntity = restTemplate.exchange(
+            restTemplate.execute(
+                    uri,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM)),
+                    response -> {
+                        listener.onOpen();
+                        ChangeStreamReader.read(response.getBody(), listener);
+                        return null;
+                    });
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().value() == 404) {
+                throw new UnsupportedQueryException("change stream");
+            }
+            throw ex;
+        }
+    }
+
+    /*
+     * Server-side queries answer from the upstream store and move a few bytes instead of the whole roster. An
+     * upstream without them answers 404; that is remembered, and for the recheck interval they fail fast with
+     * UnsupportedQueryException so callers fall back to the roster. A transient 404, e.g. mid-deploy, thus does
+     * not disable them for the life of the process.
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public List<Employee> searchEmployeesByName(String fragment) {
+        return searchEmployeesByNameOnce(fragment);
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public Integer getHighestSalary() {
+        return getHighestSalaryOnce();
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public List<Employee> getTopEarners(int limit) {
+        return getTopEarnersOnce(limit);
+    }
+
+    public boolean supportsQueries() {
+        if (!queriesSupported && System.nanoTime() - queriesUnsupportedAt >= queryRecheckInterval.toNanos()) {
+            log.info("Rechecking upstream query endpoints.");
+            queriesSupported = true;
+        }
+        return queriesSupported;
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public Employee getEmployeeById(String id) {
+        return getEmployeeByIdOnce(id);
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public Employee addEmployee(EmployeeInput employeeInput) {
+        return addEmployeeOnce(employeeInput);
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public String deleteEmployeeByName(String nameInput) {
+        return deleteEmployeeByNameOnce(nameInput);
+    }
+
+    /*
+     * Batch calls send a whole list in one request, and so spend one unit of the upstream request budget. Results
+     * are per item, in request order.
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public List<BatchItemResult<Employee>> addEmployees(List<EmployeeInput> employeeInputs) {
+        return addEmployeesOnce(employeeInputs);
+    }
+
+    /**
+     * @return per name, the employee upstream removed
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    @ApiRetryable
+    public List<BatchItemResult<Employee>> deleteEmployeesByName(List<String> names) {
+        return deleteEmployeesByNameOnce(names);
+    }
+
+    /*
+     * The *Once variants perform a single attempt and rethrow 429s, leaving the retry policy to the caller: the
+     * annotated methods above retry in place, AsyncApiClient reschedules on a timer.
+     */
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public <R> R getAllEmployeesOnce(Collector<Employee, ?, R> collector) {
+        ConditionalResponse<R> response = getAllEmployeesIfModifiedOnce(collector, null);
+        return response == null ? null : response.value();
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public <R> ConditionalResponse<R> getAllEmployeesIfModifiedOnce(Collector<Employee, ?, R> collector, String eTag) {
+        log.info("Entered ApiClient.getAllEmployees method in streaming mode with eTag: {}.", eTag);
+        try {
+            return restTemplate.execute(
                     baseUrl,
                     HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<ApiDataResponse<List<Employee>>>() {});
+                    request -> {
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        if (eTag != null) {
+                            request.getHeaders().setIfNoneMatch(eTag);
+                        }
+                    },
+                    response -> response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                            ? ConditionalResponse.<R>notModified(eTag)
+                            : ConditionalResponse.modified(
+                                    EmployeeStreamReader.collect(response.getBody(), collector),
+                                    response.getHeaders().getETag()));
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().value() == 429) {
+                log.warn("Too Many Requests with error code 429.");
+                throw ex;
+            }
+        } catch (Exception e) {
+            log.error("Exception occurred during api client's getAllEmployees method with error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public EmployeePage getEmployeesPageOnce(int size, String cursor) {
+        ConditionalResponse<EmployeePage> page = page(size, cursor, null);
+        return page == null ? null : page.value();
+    }
 
-            if (responseEntity != null && responseEntity.hasBody()) {
-                return Optional.ofNullable(responseEntity.getBody())
-                        .map(ApiDataResponse::getData)
-                        .orElse(null);
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public ConditionalResponse<EmployeePage> getFirstEmployeesPageIfModifiedOnce(int size, String eTag) {
+        return page(size, null, eTag);
+    }
+
+    private ConditionalResponse<EmployeePage> page(int size, String cursor, String eTag) {
+        log.info(
+                "Entered ApiClient.getEmployeesPage method with size: {}, cursor: {} and eTag: {}.",
+                size,
+                cursor,
+                eTag);
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("size", size)
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .encode()
+                .build()
+                .toUri();
+        HttpEntity<Void> request = null;
+        if (eTag != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(eTag);
+            request = new HttpEntity<>(headers);
+        }
+        try {
+            ResponseEntity<ApiDataResponse<List<Employee>>> response = restTemplate.exchange(
+                    uri, HttpMethod.GET, request, new ParameterizedTypeReference<ApiDataResponse<List<Employee>>>() {});
+            if (response != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return ConditionalResponse.notModified(eTag);
+            }
+            if (response != null
+                    && response.hasBody()
+                    && response.getBody().getData() != null) {
+                return ConditionalResponse.modified(
+                        new EmployeePage(
+                                response.getBody().getData(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER)),
+                        response.getHeaders().getETag());
             }
         } catch (HttpClientErrorException ex) {
             if (ex.getStatusCode().value() == 429) {
                 log.warn("Too Many Requests with error code 429.");
                 throw ex;
+            } else if (ex.getStatusCode().value() == 400) {
+                throw new IllegalArgumentException("Invalid page request: " + ex.getResponseBodyAsString(), ex);
             }
         } catch (Exception e) {
-            log.error("Exception occurred during api client's getAllEmployees method with error: {}", e.getMessage());
+            log.error("Exception occurred during ApiClient.getEmployeesPage method with error: {}", e.getMessage());
         }
         return null;
     }
 
-    @ApiRetryable
-    public Employee getEmployeeById(String id) {
-        log.info("Entered ApiClient.getEmployeeById method with id: {}.", id);
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public EmployeeChanges getChangesSinceOnce(String version) {
+        if (!supportsChangeFeed()) {
+            return null;
+        }
+        log.info("Entered ApiClient.getChangesSince method with version: {}.", version);
         try {
-            ResponseEntity<ApiDataResponse<Employee>> response = restTemplate.exchange(
-                    baseUrl + "/{id}",
+            ResponseEntity<ApiDataResponse<EmployeeChanges>> response = restTemplate.exchange(
+                    baseUrl + "/changes?since={since}",
                     HttpMethod.GET,
                     null,
-                    new ParameterizedTypeReference<ApiDataResponse<Employee>>() {},
-                    id);
+                    new ParameterizedTypeReference<ApiDataResponse<EmployeeChanges>>() {},
+                    version);
+            if (response != null && response.hasBody()) {
+                return response.getBody().getData();
+            }
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().value() == 429) {
+                log.warn("Too Many Requests with error code 429.");
+                throw ex;
+            } else if (ex.getStatusCode().value() == 404) {
+                log.warn("Upstream has no change feed, rosters will be refreshed in full.");
+                changeFeedUnsupportedAt = System.nanoTime();
+                changeFeedSupported = false;
+            } else {
+                log.error("Exception occurred during ApiClient.getChangesSince method with error: {}", ex.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("Exception occurred during ApiClient.getChangesSince method with error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public List<Employee> searchEmployeesByNameOnce(String fragment) {
+        log.info("Entered ApiClient.searchEmployeesByName method with fragment: {}.", fragment);
+        return query("name search", () -> restTemplate.exchange(
+                baseUrl + "/search/{fragment}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<ApiDataResponse<List<Employee>>>() {},
+                fragment));
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public Integer getHighestSalaryOnce() {
+        log.info("Entered ApiClient.getHighestSalary method.");
+        return query("highest salary", () -> restTemplate.exchange(
+                baseUrl + "/salary/max",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<ApiDataResponse<Integer>>() {}));
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public List<Employee> getTopEarnersOnce(int limit) {
+        log.info("Entered ApiClient.getTopEarners method with limit: {}.", limit);
+        return query("top earners", () -> restTemplate.exchange(
+                baseUrl + "/salary/top?limit={limit}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<ApiDataResponse<List<Employee>>>() {},
+                limit));
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public Employee getEmployeeByIdOnce(String id) {
+        log.info("Entered ApiClient.getEmployeeById method with id: {}.", id);
+        try {
+            ResponseEntity<ApiDataResponse<Employee>> response = employeeByIdFlight.execute(
+                    id,
+                    () -> restTemplate.exchange(
+                            baseUrl + "/{id}",
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<ApiDataResponse<Employee>>() {},
+                            id));
             if (response != null
                     && response.hasBody()
                     && response.getStatusCode().is2xxSuccessful()) {
@@ -92,8 +429,8 @@ public class ApiClient {
         return null;
     }
 
-    @ApiRetryable
-    public Employee addEmployee(EmployeeInput employeeInput) {
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public Employee addEmployeeOnce(EmployeeInput employeeInput) {
         log.info("Entered ApiClient.addEmployee method with employeeInput: {}.", employeeInput);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -124,8 +461,8 @@ public class ApiClient {
         return null;
     }
 
-    @ApiRetryable
-    public String deleteEmployeeByName(String nameInput) {
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public String deleteEmployeeByNameOnce(String nameInput) {
         log.info("Entered ApiClient.deleteEmployeeByName method with name: {}.", nameInput);
 
         HttpHeaders headers = new HttpHeaders();
@@ -164,6 +501,77 @@ public class ApiClient {
         return null;
     }
 
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public List<BatchItemResult<Employee>> addEmployeesOnce(List<EmployeeInput> employeeInputs) {
+        log.info("Entered ApiClient.addEmployees method with {} inputs.", employeeInputs.size());
+        return batch("addEmployees", HttpMethod.POST, employeeInputs);
+    }
+
+    @Timed(value = CALLS_METRIC, description = CALLS_DESCRIPTION)
+    public List<BatchItemResult<Employee>> deleteEmployeesByNameOnce(List<String> names) {
+        log.info("Entered ApiClient.deleteEmployeesByName method with {} names.", names.size());
+        return batch(
+                "deleteEmployeesByName",
+                HttpMethod.DELETE,
+                names.stream().map(name -> Map.of("name", name)).toList());
+    }
+
+    private List<BatchItemResult<Employee>> batch(String operation, HttpMethod method, List<?> body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            ResponseEntity<ApiDataResponse<List<BatchItemResult<Employee>>>> response = restTemplate.exchange(
+                    baseUrl + "/batch",
+                    method,
+                    new HttpEntity<>(body, headers),
+                    new ParameterizedTypeReference<ApiDataResponse<List<BatchItemResult<Employee>>>>() {});
+            if (response != null
+                    && response.hasBody()
+                    && response.getStatusCode().is2xxSuccessful()) {
+                return response.getBody().getData();
+            } else {
+                log.warn("Batch {} unsuccessful. Response: {}", operation, response);
+            }
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().value() == 429) {
+                log.warn("Too Many Requests with error code 429.");
+                throw ex;
+            } else if (ex.getStatusCode().value() == 400) {
+                throw new IllegalArgumentException("Invalid batch request: " + ex.getResponseBodyAsString(), ex);
+            }
+        } catch (Exception e) {
+            log.error("Exception occurred during ApiClient.{} method with error: {}", operation, e.getMessage());
+        }
+        return null;
+    }
+
+    /*
+     * Unlike the roster calls, failures other than 404 are rethrown: a null result must mean the upstream answered
+     * with no data, e.g. no highest salary for an empty roster.
+     */
+    private <T> T query(String name, Supplier<ResponseEntity<ApiDataResponse<T>>> call) {
+        if (!supportsQueries()) {
+            throw new UnsupportedQueryException(name);
+        }
+        try {
+            ResponseEntity<ApiDataResponse<T>> response = call.get();
+            return response != null && response.hasBody() ? response.getBody().getData() : null;
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().value() == 429) {
+                log.warn("Too Many Requests with error code 429.");
+            } else if (ex.getStatusCode().value() == 404) {
+                log.warn("Upstream has no {} endpoint, falling back to roster queries.", name);
+                queriesUnsupportedAt = System.nanoTime();
+                queriesSupported = false;
+                throw new UnsupportedQueryException(name);
+            }
+            throw ex;
+        } catch (Exception e) {
+            log.error("Exception occurred during ApiClient {} query with error: {}", name, e.getMessage());
+            throw e;
+        }
+    }
+
     @Recover
     public String retriesExhausted(HttpClientErrorException.TooManyRequests ex) {
         log.warn("Max retry attempts reached. Try again later...", ex.getMessage());
@@ -0,0 +1,65 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.ScheduledRetry;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AsyncApiClient {
+
+    private final ApiClient apiClient;
+    private final ScheduledRetry scheduledRetry;
+
+    @Value("${external.api.page-size:0}")
+    private int pageSize;
+
+    /**
+     * Collects the whole roster: page by page with a positive page size, each page retried on its own, otherwise
+     * streamed from a single request.
+     */
+    public <A, R> CompletableFuture<R> getAllEmployees(Collector<Employee, A, R> collector) {
+        if (pageSize <= 0) {
+            return scheduledRetry.execute("getAllEmployees", () -> apiClient.getAllEmployeesOnce(collector));
+        }
+        A container = collector.supplier().get();
+        return collectPages(null, container, collector.accumulator())
+                .thenApply(complete -> complete ? collector.finisher().apply(container) : null);
+    }
+
+    public CompletableFuture<EmployeePage> getEmployeesPage(int size, String cursor) {
+        return scheduledRetry.execute("getEmployeesPage", () -> apiClient.getEmployeesPageOnce(size, cursor));
+    }
+
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return scheduledRetry.execute("getEmployeeById", () -> apiClient.getEmployeeByIdOnce(id));
+    }
+
+    public CompletableFuture<Employee> addEmployee(EmployeeInput employeeInput) {
+        return scheduledRetry.execute("addEmployee", () -> apiClient.addEmployeeOnce(employeeInput));
+    }
+
+    public CompletableFuture<String> deleteEmployeeByName(String nameInput) {
+        return scheduledRetry.execute("deleteEmployeeByName", () -> apiClient.deleteEmployeeByNameOnce(nameInput));
+    }
+
+    private <A> CompletableFuture<Boolean> collectPages(
+            String cursor, A container, BiConsumer<A, Employee> accumulator) {
+        return getEmployeesPage(pageSize, cursor).thenCompose(page -> {
+            if (page == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+            page.employees().forEach(employee -> accumulator.accept(container, employee));
+            return page.nextCursor() == null
+                    ? CompletableFuture.completedFuture(true)
+                    : collectPages(page.nextCursor(), container, accumulator);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.EmployeeChange;
+
+/**
+ * Receives the events of an upstream change stream, on the thread reading it.
+ */
+public interface ChangeStreamListener {
+
+    /**
+     * The stream was accepted; events follow.
+     */
+    void onOpen();
+
+    /**
+     * @param eventId the roster version the change produced, usable to resume the stream from
+     */
+    void onChange(EmployeeChange change, String eventId);
+
+    /**
+     * Upstream dropped changes for this subscriber; whatever the listener holds must be reloaded.
+     */
+    void onResync();
+
+    /**
+     * The stream is alive and every change so far has been delivered.
+     */
+    void onHeartbeat();
+}
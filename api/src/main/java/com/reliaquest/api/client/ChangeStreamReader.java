@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.EmployeeChange;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Decodes a {@code text/event-stream} body line by line, handing each {@code change} and {@code resync} event and
+ * each comment (the upstream heartbeat) to a {@link ChangeStreamListener} as it arrives. Unknown events and fields
+ * are skipped.
+ */
+final class ChangeStreamReader {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    // Configured like the RestTemplate's own message converter, so both paths decode identically.
+    private static final ObjectReader CHANGE_READER =
+            Jackson2ObjectMapperBuilder.json().build().readerFor(EmployeeChange.class);
+
+    private ChangeStreamReader() {}
+
+    /**
+     * Returns when the stream ends.
+     */
+    static void read(InputStream body, ChangeStreamListener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = null;
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                dispatch(event, id, data, listener);
+                event = null;
+                id = null;
+                data.setLength(0);
+            } else if (line.startsWith(":")) {
+                listener.onHeartbeat();
+            } else {
+                int colon = line.indexOf(':');
+                String field = colon < 0 ? line : line.substring(0, colon);
+                String value = colon < 0 ? "" : line.substring(colon + 1);
+                if (value.startsWith(" ")) {
+                    value = value.substring(1);
+                }
+                switch (field) {
+                    case "event" -> event = value;
+                    case "id" -> id = value;
+                    case "data" -> data.append(data.isEmpty() ? "" : "\n").append(value);
+                    default -> {}
+                }
+            }
+        }
+    }
+
+    private static void dispatch(String event, String id, StringBuilder data, ChangeStreamListener listener)
+            throws IOException {
+        if (CHANGE_EVENT.equals(event)) {
+            listener.onChange(CHANGE_READER.readValue(data.toString()), id);
+        } else if (RESYNC_EVENT.equals(event)) {
+            listener.onResync();
+        }
+    }
+}
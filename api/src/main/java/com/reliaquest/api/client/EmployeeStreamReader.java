@@ -0,0 +1,58 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Decodes an upstream {@code {"data": [...]}} envelope with Jackson's token stream, handing each employee to a
+ * {@link Collector} as soon as it is parsed. Neither the response body nor an intermediate list is ever held in
+ * full; memory beyond the collector's own result stays constant in the size of the roster.
+ */
+final class EmployeeStreamReader {
+
+    // Configured like the RestTemplate's own message converter, so both paths decode identically.
+    private static final ObjectReader EMPLOYEE_READER =
+            Jackson2ObjectMapperBuilder.json().build().readerFor(Employee.class);
+
+    private EmployeeStreamReader() {}
+
+    /**
+     * @return the collector's result, or {@code null} if the envelope carries no {@code data} array
+     */
+    static <A, R> R collect(InputStream body, Collector<Employee, A, R> collector) throws IOException {
+        try (JsonParser parser = EMPLOYEE_READER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object as the response envelope.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    return collectArray(parser, collector);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static <A, R> R collectArray(JsonParser parser, Collector<Employee, A, R> collector) throws IOException {
+        A container = collector.supplier().get();
+        BiConsumer<A, Employee> accumulator = collector.accumulator();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            accumulator.accept(container, EMPLOYEE_READER.readValue(parser));
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected employee objects in the data array.");
+        }
+        return collector.finisher().apply(container);
+    }
+}
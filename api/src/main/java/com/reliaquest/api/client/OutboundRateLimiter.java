@@ -0,0 +1,248 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Paces every outbound request with a lock-free token bucket (GCRA: a single CAS on the next theoretical arrival
+ * time). The emission interval adapts: each upstream 429 doubles it and holds all callers until the advertised
+ * {@code Retry-After} (or the configured cool-down) has passed, while successful calls shrink it back towards the
+ * configured floor. Callers wait up to {@code max-wait} for a slot and otherwise fail fast with a locally generated
+ * 429, so requests that would certainly be rejected never leave the process. A conditional request answered 304
+ * gives its slot back, since upstream does not count those against its limit either.
+ *
+ * <p>Waiting for a slot sleeps the calling thread. Callers that must not block reserve a slot up front with
+ * {@link #reserveForLater}, schedule the call for when it is due and make it through {@link #callReserved}.
+ */
+@Slf4j
+@Component
+public class OutboundRateLimiter implements ClientHttpRequestInterceptor {
+
+    private static final int RECOVERY_DIVISOR = 20;
+
+    private final boolean enabled;
+    private final int burst;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final long maxWaitNanos;
+    private final long cooldownNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong nextFreeNanos;
+    private final AtomicLong intervalNanos;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upstreamRejections = new LongAdder();
+
+    /*
+     * Set while a call holds a slot from reserveForLater; its first request takes that slot instead of a new one.
+     */
+    private final ThreadLocal<Boolean> heldSlot = new ThreadLocal<>();
+
+    @Autowired
+    public OutboundRateLimiter(
+            @Value("${external.api.rate-limit.enabled:true}") boolean enabled,
+            @Value("${external.api.rate-limit.burst:5}") int burst,
+            @Value("${external.api.rate-limit.initial-interval:6s}") Duration initialInterval,
+            @Value("${external.api.rate-limit.min-interval:1s}") Duration minInterval,
+            @Value("${external.api.rate-limit.max-interval:18s}") Duration maxInterval,
+            @Value("${external.api.rate-limit.max-wait:2s}") Duration maxWait,
+            @Value("${external.api.rate-limit.cooldown:30s}") Duration cooldown) {
+        this(enabled, burst, initialInterval, minInterval, maxInterval, maxWait, cooldown, System::nanoTime);
+    }
+
+    OutboundRateLimiter(
+            boolean enabled,
+            int burst,
+            Duration initialInterval,
+            Duration minInterval,
+            Duration maxInterval,
+            Duration maxWait,
+            Duration cooldown,
+            LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.burst = Math.max(1, burst);
+        this.minIntervalNanos = minInterval.toNanos();
+        this.maxIntervalNanos = Math.max(minIntervalNanos, maxInterval.toNanos());
+        this.maxWaitNanos = maxWait.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.nanoClock = nanoClock;
+        this.intervalNanos = new AtomicLong(clamp(initialInterval.toNanos()));
+        this.nextFreeNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+        if (heldSlot.get() != null) {
+            heldSlot.remove();
+        } else {
+            long waitNanos = reserve(nanoClock.getAsLong());
+            if (waitNanos > maxWaitNanos) {
+                throw rejectLocally(request.getMethod() + " " + request.getURI(), waitNanos);
+            }
+            pause(waitNanos);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            onRateLimited(RetryAfter.from(response.getHeaders(), Instant.now())
+                    .map(Duration::toNanos)
+                    .orElse(cooldownNanos));
+        } else {
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                refund();
+            }
+            onSuccess();
+        }
+        return response;
+    }
+
+    /**
+     * Non-blocking counterpart of the wait before each request: reserves a slot for a call to be made through
+     * {@link #callReserved} once the returned delay has passed.
+     *
+     * @param operation name of the call, for the log
+     * @return nanoseconds until the slot is due
+     * @throws HttpClientErrorException a locally generated 429 if no slot is due within {@code max-wait}
+     */
+    public long reserveForLater(String operation) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = reserve(nanoClock.getAsLong());
+        if (waitNanos > maxWaitNanos) {
+            throw rejectLocally(operation, waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Makes {@code call} with the slot from {@link #reserveForLater}: its first request is sent without reserving or
+     * waiting again.
+     */
+    public <T> T callReserved(Supplier<T> call) {
+        heldSlot.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            heldSlot.remove();
+        }
+    }
+
+    /**
+     * Reserves the next slot if it is due within {@code max-wait}.
+     *
+     * @return nanoseconds the caller must wait before sending; a value above {@code max-wait} means nothing was
+     * reserved
+     */
+    long reserve(long now) {
+        while (true) {
+            long nextFree = nextFreeNanos.get();
+            long interval = intervalNanos.get();
+            long arrival = Math.max(nextFree, now);
+            long waitNanos = arrival - (burst - 1) * interval - now;
+            if (waitNanos > maxWaitNanos) {
+                return waitNanos;
+            }
+            if (nextFreeNanos.compareAndSet(nextFree, arrival + interval)) {
+                return Math.max(0, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * Returns a slot taken by {@link #reserve(long)}. Moving the next arrival back below the current time is harmless:
+     * reservations never start earlier than now.
+     */
+    void refund() {
+        nextFreeNanos.addAndGet(-intervalNanos.get());
+    }
+
+    void onRateLimited(long retryAfterNanos) {
+        upstreamRejections.increment();
+        long interval = intervalNanos.updateAndGet(current -> clamp(current * 2));
+        long resumeAt = nanoClock.getAsLong() + retryAfterNanos + (burst - 1) * interval;
+        nextFreeNanos.accumulateAndGet(resumeAt, Math::max);
+        log.warn(
+                "Upstream returned 429, pausing outbound calls for {} ms and slowing to one request every {} ms.",
+                TimeUnit.NANOSECONDS.toMillis(retryAfterNanos),
+                TimeUnit.NANOSECONDS.toMillis(interval));
+    }
+
+    void onSuccess() {
+        intervalNanos.updateAndGet(current -> {
+            long step = Math.max(1, (current - minIntervalNanos) / RECOVERY_DIVISOR);
+            return clamp(current - step);
+        });
+    }
+
+    public Duration currentInterval() {
+        return Duration.ofNanos(intervalNanos.get());
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long upstreamRejectionCount() {
+        return upstreamRejections.sum();
+    }
+
+    private long clamp(long interval) {
+        return Math.min(maxIntervalNanos, Math.max(minIntervalNanos, interval));
+    }
+
+    private static void pause(long waitNanos) throws InterruptedIOException {
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an outbound rate limit slot.");
+        }
+    }
+
+    private HttpClientErrorException rejectLocally(String call, long waitNanos) {
+        rejected.increment();
+        log.warn(
+                "Outbound rate limit reached for {}, next slot in {} ms.",
+                call,
+                TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return locallyRateLimited(waitNanos);
+    }
+
+    private static HttpClientErrorException locallyRateLimited(long waitNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        return HttpClientErrorException.create(
+                "Outbound rate limit reached.",
+                HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                headers,
+                null,
+                null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Parses the {@code Retry-After} response header, given either as delay-seconds or as an HTTP-date.
+ */
+public final class RetryAfter {
+
+    private RetryAfter() {}
+
+    public static Optional<Duration> from(HttpHeaders headers, Instant now) {
+        if (headers == null) {
+            return Optional.empty();
+        }
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Instant retryAt = Instant.ofEpochMilli(headers.getFirstDate(HttpHeaders.RETRY_AFTER));
+                Duration untilDate = Duration.between(now, retryAt);
+                return Optional.of(untilDate.isNegative() ? Duration.ZERO : untilDate);
+            } catch (IllegalArgumentException notDate) {
+                return Optional.empty();
+            }
+        }
+    }
+}
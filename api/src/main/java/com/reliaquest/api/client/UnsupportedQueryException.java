@@ -0,0 +1,12 @@
+package com.reliaquest.api.client;
+
+/**
+ * Thrown when the upstream does not expose a server-side query endpoint, so the caller has to compute the answer
+ * from the roster itself.
+ */
+public class UnsupportedQueryException extends RuntimeException {
+
+    public UnsupportedQueryException(String query) {
+        super("Upstream does not support the " + query + " query.");
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.retry.annotation.RecoverAnnotationRecoveryHandler;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException.TooManyRequests;
+
+/**
+ * Retry advice behind {@link ApiRetryable}, waiting as {@link ApiRetryPolicy} decides. Once a call gives up while
+ * still rate limited, recovery goes to the target's {@code @Recover} methods exactly as with plain
+ * {@code @Retryable}; without a matching one an {@link org.springframework.retry.ExhaustedRetryException} is thrown.
+ */
+@Slf4j
+@Component(ApiRetryInterceptor.BEAN_NAME)
+public class ApiRetryInterceptor implements MethodInterceptor {
+
+    public static final String BEAN_NAME = "apiRetryInterceptor";
+
+    private final ApiRetryPolicy retryPolicy;
+    private final Sleeper sleeper;
+
+    @Autowired
+    public ApiRetryInterceptor(ApiRetryPolicy retryPolicy) {
+        this(retryPolicy, new ThreadWaitSleeper());
+    }
+
+    ApiRetryInterceptor(ApiRetryPolicy retryPolicy, Sleeper sleeper) {
+        this.retryPolicy = retryPolicy;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String operation = invocation.getMethod().getName();
+        Duration waited = Duration.ZERO;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = proceed(invocation);
+                retryPolicy.record(operation, attempt, waited, ApiRetryPolicy.Outcome.SUCCESS);
+                return result;
+            } catch (Throwable failure) {
+                var delay = retryPolicy.nextDelay(attempt, failure, waited);
+                if (delay.isEmpty()) {
+                    return giveUp(invocation, operation, attempt, waited, failure);
+                }
+                log.warn(
+                        "Attempt {} of {} rate limited, retrying in {} ms.",
+                        attempt,
+                        operation,
+                        delay.get().toMillis());
+                sleeper.sleep(delay.get().toMillis());
+                waited = waited.plus(delay.get());
+            }
+        }
+    }
+
+    /*
+     * Each attempt runs on a clone so the remaining advice chain is invoked afresh, as RetryOperationsInterceptor
+     * does.
+     */
+    private static Object proceed(MethodInvocation invocation) throws Throwable {
+        if (invocation instanceof ProxyMethodInvocation proxyInvocation) {
+            return proxyInvocation.invocableClone().proceed();
+        }
+        return invocation.proceed();
+    }
+
+    private Object giveUp(
+            MethodInvocation invocation, String operation, int attempts, Duration waited, Throwable failure)
+            throws Throwable {
+        if (!(failure instanceof TooManyRequests)) {
+            retryPolicy.record(operation, attempts, waited, ApiRetryPolicy.Outcome.FAILURE);
+            throw failure;
+        }
+        retryPolicy.record(operation, attempts, waited, ApiRetryPolicy.Outcome.EXHAUSTED);
+        Object recovered = new RecoverAnnotationRecoveryHandler<>(invocation.getThis(), invocation.getMethod())
+                .recover(invocation.getArguments(), failure);
+        retryPolicy.recordRecovered(operation);
+        return recovered;
+    }
+}
@@ -0,0 +1,182 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.RetryAfter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException.TooManyRequests;
+
+/**
+ * When and how long to wait before retrying a rate-limited upstream call, shared by the blocking
+ * {@link ApiRetryInterceptor} and the non-blocking {@link ScheduledRetry}.
+ *
+ * <p>Only 429s are retried. The wait is whatever the rejection advertises, {@code Retry-After} or else
+ * {@value #RATE_LIMIT_RESET_HEADER}; without either it falls back to exponential backoff with equal jitter. A call
+ * gives up once it has made {@code max-attempts} attempts or when the next wait would end past its {@code deadline},
+ * rather than sleeping into a wait it cannot finish.
+ */
+@Slf4j
+@Component
+public class ApiRetryPolicy {
+
+    public static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final DoubleSupplier jitter;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ApiRetryPolicy(
+            @Value("${external.api.retry.max-attempts:3}") int maxAttempts,
+            @Value("${external.api.retry.initial-delay:3s}") Duration initialDelay,
+            @Value("${external.api.retry.multiplier:2}") double multiplier,
+            @Value("${external.api.retry.max-delay:30s}") Duration maxDelay,
+            @Value("${external.api.retry.deadline:30s}") Duration deadline,
+            MeterRegistry meterRegistry) {
+        this(
+                maxAttempts,
+                initialDelay,
+                multiplier,
+                maxDelay,
+                deadline,
+                () -> ThreadLocalRandom.current().nextDouble(),
+                Clock.systemUTC(),
+                meterRegistry);
+    }
+
+    ApiRetryPolicy(
+            int maxAttempts,
+            Duration initialDelay,
+            double multiplier,
+            Duration maxDelay,
+            Duration deadline,
+            DoubleSupplier jitter,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+        this.jitter = jitter;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param failedAttempts attempts made so far, all failed
+     * @param failure the failure of the latest attempt
+     * @param waited time already spent waiting between attempts of this call
+     * @return how long to wait before the next attempt, or empty if the call should give up
+     */
+    public Optional<Duration> nextDelay(int failedAttempts, Throwable failure, Duration waited) {
+        if (!(failure instanceof TooManyRequests tooManyRequests) || failedAttempts >= maxAttempts) {
+            return Optional.empty();
+        }
+        Duration delay = advertisedDelay(tooManyRequests.getResponseHeaders()).orElseGet(() -> backoff(failedAttempts));
+        if (waited.plus(delay).compareTo(deadline) > 0) {
+            log.warn(
+                    "Next retry in {} ms would pass the {} ms retry deadline, giving up.",
+                    delay.toMillis(),
+                    deadline.toMillis());
+            return Optional.empty();
+        }
+        return Optional.of(delay);
+    }
+
+    /**
+     * Records one call: the number of attempts it made and the total time it waited between them.
+     */
+    public void record(String operation, int attempts, Duration waited, Outcome outcome) {
+        DistributionSummary.builder("api.retry.attempts")
+                .description("Attempts per upstream call")
+                .tag("operation", operation)
+                .tag("outcome", outcome.tag())
+                .register(meterRegistry)
+                .record(attempts);
+        Timer.builder("api.retry.wait")
+                .description("Total time an upstream call waited between attempts")
+                .tag("operation", operation)
+                .tag("outcome", outcome.tag())
+                .register(meterRegistry)
+                .record(waited);
+        if (attempts > 1) {
+            Counter.builder("api.retry.retries")
+                    .description("Attempts made after an upstream call's first")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(attempts - 1);
+        }
+        if (outcome == Outcome.EXHAUSTED) {
+            Counter.builder("api.retry.exhausted")
+                    .description("Upstream calls that gave up while still rate limited")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Records an exhausted call answered by its {@code @Recover} method instead of failing.
+     */
+    public void recordRecovered(String operation) {
+        Counter.builder("api.retry.recovered")
+                .description("Exhausted upstream calls answered by a recovery method")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Optional<Duration> advertisedDelay(HttpHeaders headers) {
+        Optional<Duration> retryAfter = RetryAfter.from(headers, clock.instant());
+        if (retryAfter.isPresent() || headers == null) {
+            return retryAfter;
+        }
+        String reset = headers.getFirst(RATE_LIMIT_RESET_HEADER);
+        if (reset == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(reset.trim()))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * Equal jitter: half the exponential delay is fixed, the other half random, so callers rejected together spread
+     * out without any of them retrying almost immediately.
+     */
+    private Duration backoff(int failedAttempts) {
+        double exponential = initialDelay.toMillis() * Math.pow(multiplier, failedAttempts - 1);
+        long capped = (long) Math.min(exponential, maxDelay.toMillis());
+        return Duration.ofMillis(capped / 2 + (long) (jitter.getAsDouble() * (capped - capped / 2)));
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        FAILURE,
+        EXHAUSTED;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
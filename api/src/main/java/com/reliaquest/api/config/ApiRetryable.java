@@ -1,14 +1,13 @@
 package com.reliaquest.api.config;
 
 import java.lang.annotation.*;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.web.client.HttpClientErrorException.TooManyRequests;
 
+/**
+ * Retries rate-limited upstream calls as {@link ApiRetryPolicy} decides, honouring the upstream's
+ * {@code Retry-After}.
+ */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
-@Retryable(
-        value = {TooManyRequests.class},
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 3000, multiplier = 2))
+@Retryable(interceptor = ApiRetryInterceptor.BEAN_NAME)
 public @interface ApiRetryable {}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics beyond what Actuator records on its own (http.server.requests, http.client.requests, JVM and Tomcat):
+ * per-method {@code @Timed} upstream calls and the state of both caches, the latter following Micrometer's cache
+ * naming ({@code cache.size}, {@code cache.gets} tagged by result).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder rosterCacheMetrics(RosterCache rosterCache) {
+        return registry -> {
+            Gauge.builder("cache.size", rosterCache, cache -> cache.stats().size())
+                    .description("Entries in the cache")
+                    .tag("cache", "roster")
+                    .register(registry);
+            Gauge.builder("cache.roster.version", rosterCache, cache -> cache.stats().version())
+                    .description("Version of the cached roster, bumped by every load and change")
+                    .register(registry);
+            TimeGauge.builder(
+                            "cache.roster.age",
+                            rosterCache,
+                            TimeUnit.MILLISECONDS,
+                            cache -> cache.stats().age().toMillis())
+                    .description("Time since the cached roster was last known to be current")
+                    .register(registry);
+            gets(registry, "roster", "hit", rosterCache, cache -> cache.stats().hits());
+            gets(registry, "roster", "miss", rosterCache, cache -> cache.stats().misses());
+        };
+    }
+
+    @Bean
+    public MeterBinder employeeCacheMetrics(EmployeeCache employeeCache) {
+        return registry -> {
+            Gauge.builder("cache.size", employeeCache, cache -> cache.stats().size())
+                    .description("Entries in the cache")
+                    .tag("cache", "employee")
+                    .register(registry);
+            gets(registry, "employee", "hit", employeeCache, cache -> cache.stats().hits());
+            gets(registry, "employee", "negative_hit", employeeCache, cache -> cache.stats().negativeHits());
+            gets(registry, "employee", "miss", employeeCache, cache -> cache.stats().misses());
+        };
+    }
+
+    private static <T> void gets(
+            MeterRegistry registry, String cache, String result, T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder("cache.gets", source, count)
+                .description("Cache lookups by result")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,14 +1,83 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.OutboundRateLimiter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager apiConnectionManager(
+            @Value("${external.api.http.max-total:50}") int maxTotal,
+            @Value("${external.api.http.max-per-route:20}") int maxPerRoute,
+            @Value("${external.api.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.api.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${external.api.http.time-to-live:5m}") Duration timeToLive) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /*
+     * Keep-alive and idle eviction stay below the upstream's idle timeout so pooled connections are retired by us
+     * rather than reset under a request.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient apiHttpClient(
+            PoolingHttpClientConnectionManager apiConnectionManager,
+            @Value("${external.api.http.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+            @Value("${external.api.http.keep-alive:15s}") Duration keepAlive,
+            @Value("${external.api.http.evict-idle-after:15s}") Duration evictIdleAfter) {
+        return HttpClients.custom()
+                .setConnectionManager(apiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAlive.toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(evictIdleAfter.toMillis()))
+                .build();
+    }
+
+    /*
+     * Observed so every upstream exchange is timed as http.client.requests, tagged with its URI template and status.
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            CloseableHttpClient apiHttpClient,
+            OutboundRateLimiter outboundRateLimiter,
+            ObservationRegistry observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient));
+        restTemplate.getInterceptors().add(outboundRateLimiter);
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder apiConnectionPoolMetrics(PoolingHttpClientConnectionManager apiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(apiConnectionManager, "employee-api");
     }
 }
@@ -0,0 +1,136 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.OutboundRateLimiter;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException.TooManyRequests;
+
+/**
+ * Non-blocking counterpart of {@link ApiRetryable}: attempts run on the task executor and a 429 schedules the next
+ * attempt on a timer, after the wait {@link ApiRetryPolicy} decides, instead of sleeping the calling thread.
+ * Exhausted retries complete the future with an {@link ExhaustedRetryException}, mirroring the blocking path. Each
+ * attempt also takes its {@link OutboundRateLimiter} slot up front and, if the slot is not yet due, waits for it on
+ * the same timer, so no executor thread sleeps in the limiter either.
+ */
+@Slf4j
+@Component
+public class ScheduledRetry implements DisposableBean {
+
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final ApiRetryPolicy retryPolicy;
+    private final OutboundRateLimiter rateLimiter;
+
+    @Autowired
+    public ScheduledRetry(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+            ApiRetryPolicy retryPolicy,
+            OutboundRateLimiter rateLimiter) {
+        this(
+                executor,
+                Executors.newSingleThreadScheduledExecutor(ScheduledRetry::newSchedulerThread),
+                retryPolicy,
+                rateLimiter);
+    }
+
+    ScheduledRetry(
+            Executor executor,
+            ScheduledExecutorService scheduler,
+            ApiRetryPolicy retryPolicy,
+            OutboundRateLimiter rateLimiter) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @param operation name the call is recorded under in the retry metrics
+     */
+    public <T> CompletableFuture<T> execute(String operation, Supplier<T> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        run(operation, attempt, 1, Duration.ZERO, result);
+        return result;
+    }
+
+    private <T> void run(
+            String operation, Supplier<T> attempt, int attemptNumber, Duration waited, CompletableFuture<T> result) {
+        long slotDueNanos;
+        try {
+            slotDueNanos = rateLimiter.reserveForLater(operation);
+        } catch (TooManyRequests e) {
+            complete(operation, attempt, attemptNumber, waited, result, null, e);
+            return;
+        }
+        if (slotDueNanos > 0) {
+            scheduler.schedule(
+                    () -> attempt(operation, attempt, attemptNumber, waited, result),
+                    slotDueNanos,
+                    TimeUnit.NANOSECONDS);
+        } else {
+            attempt(operation, attempt, attemptNumber, waited, result);
+        }
+    }
+
+    private <T> void attempt(
+            String operation, Supplier<T> attempt, int attemptNumber, Duration waited, CompletableFuture<T> result) {
+        CompletableFuture.supplyAsync(() -> rateLimiter.callReserved(attempt), executor)
+                .whenComplete(
+                        (value, error) -> complete(operation, attempt, attemptNumber, waited, result, value, error));
+    }
+
+    private <T> void complete(
+            String operation,
+            Supplier<T> attempt,
+            int attemptNumber,
+            Duration waited,
+            CompletableFuture<T> result,
+            T value,
+            Throwable error) {
+        if (error == null) {
+            retryPolicy.record(operation, attemptNumber, waited, ApiRetryPolicy.Outcome.SUCCESS);
+            result.complete(value);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        Optional<Duration> delay = retryPolicy.nextDelay(attemptNumber, cause, waited);
+        if (!(cause instanceof TooManyRequests)) {
+            retryPolicy.record(operation, attemptNumber, waited, ApiRetryPolicy.Outcome.FAILURE);
+            result.completeExceptionally(cause);
+        } else if (delay.isEmpty()) {
+            retryPolicy.record(operation, attemptNumber, waited, ApiRetryPolicy.Outcome.EXHAUSTED);
+            result.completeExceptionally(new ExhaustedRetryException("Max retry attempts reached.", cause));
+        } else {
+            log.warn("Attempt {} rate limited, rescheduling in {} ms.", attemptNumber, delay.get().toMillis());
+            scheduler.schedule(
+                    () -> run(operation, attempt, attemptNumber + 1, waited.plus(delay.get()), result),
+                    delay.get().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static Thread newSchedulerThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "api-retry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,189 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Same contract as {@link EmployeeController}, but every handler returns a deferred result: the servlet thread is
+ * released immediately and the response is written when the {@link AsyncEmployeeService} future completes, so
+ * retry backoff does not hold Tomcat workers.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v2/employee")
+@RequiredArgsConstructor
+public class AsyncEmployeeController {
+
+    private final AsyncEmployeeService asyncEmployeeService;
+
+    @GetMapping()
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return asyncEmployeeService
+                .getAll()
+                .thenApply(employees -> {
+                    if (employees == null) {
+                        log.info("Error occurred while fetching employees.");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<List<Employee>>build();
+                    } else if (employees.isEmpty()) {
+                        log.info("No employees found.");
+                        return ResponseEntity.noContent().<List<Employee>>build();
+                    }
+                    log.info("Employees found: {}", employees.size());
+                    return ResponseEntity.ok(employees);
+                })
+                .exceptionally(e -> failed(e, "fetch for all employees"));
+    }
+
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesPage(
+            @RequestParam(name = "size", defaultValue = "100") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return asyncEmployeeService
+                .getEmployeesPage(size, cursor)
+                .thenApply(page -> {
+                    if (page == null) {
+                        log.info("Error occurred while fetching employee page.");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<List<Employee>>build();
+                    }
+                    log.info(
+                            "Employees found on page: {}. Last page: {}",
+                            page.employees().size(),
+                            page.nextCursor() == null);
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.nextCursor() != null) {
+                        response.header(ApiClient.NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                    return response.body(page.employees());
+                })
+                .exceptionally(e -> failed(e, "fetch for employee page"));
+    }
+
+    @GetMapping("/search/{searchString}")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString) {
+        return asyncEmployeeService
+                .getEmployeesByNameSearch(searchString)
+                .thenApply(employees -> {
+                    if (employees == null) {
+                        throw new IllegalStateException("Error occurred during employee search by name.");
+                    } else if (employees.isEmpty()) {
+                        log.info("No employees found with search string: {}", searchString);
+                        return ResponseEntity.noContent().<List<Employee>>build();
+                    }
+                    log.info("Num of Employees found with search string '{}': {}", searchString, employees.size());
+                    return ResponseEntity.ok(employees);
+                })
+                .exceptionally(e -> failed(e, "search for name: '" + searchString + "'"));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return asyncEmployeeService
+                .getEmployeeById(id)
+                .thenApply(employee -> {
+                    if (employee == null) {
+                        log.info("No employee found with ID: {}", id);
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).<Employee>build();
+                    }
+                    log.info("Employee found with ID {}: {}", id, employee);
+                    return ResponseEntity.ok(employee);
+                })
+                .exceptionally(e -> failed(e, "fetch for id: '" + id + "'"));
+    }
+
+    @GetMapping("/highestSalary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return asyncEmployeeService
+                .getHighestSalaryOfEmployees()
+                .thenApply(highestSalary -> {
+                    if (highestSalary == null) {
+                        log.info("No employees found to determine the highest salary.");
+                        return ResponseEntity.noContent().<Integer>build();
+                    }
+                    log.info("Highest salary among employees is: {}", highestSalary);
+                    return ResponseEntity.ok(highestSalary);
+                })
+                .exceptionally(e -> failed(e, "fetch for highest salary"));
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return asyncEmployeeService
+                .getTopTenHighestEarningEmployeeNames()
+                .thenApply(topEarners -> {
+                    if (topEarners.isEmpty()) {
+                        log.info("No employees found to determine the top ten highest earners.");
+                        return ResponseEntity.noContent().<List<String>>build();
+                    }
+                    log.info("Top ten highest earning employees retrieved: {}", topEarners);
+                    return ResponseEntity.ok(topEarners);
+                })
+                .exceptionally(e -> failed(e, "fetch for top ten highest earning employees"));
+    }
+
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeInput input) {
+        return asyncEmployeeService
+                .createEmployee(input)
+                .thenApply(createdEmployee -> {
+                    if (createdEmployee == null) {
+                        log.info("Employee creation failed for input: {}", input);
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<Employee>build();
+                    }
+                    log.info("Employee created successfully: {}", createdEmployee);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+                })
+                .exceptionally(e -> failed(e, "employee creation with input: " + input));
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return asyncEmployeeService
+                .deleteEmployeeById(id)
+                .thenApply(deletedEmployeeName -> {
+                    if (deletedEmployeeName == null) {
+                        log.info("No employee found with ID: {} to delete.", id);
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).<String>build();
+                    }
+                    log.info("Employee with ID: {} deleted successfully. Name: {}", id, deletedEmployeeName);
+                    return ResponseEntity.ok(deletedEmployeeName);
+                })
+                .exceptionally(e -> failed(e, "employee deletion by id " + id));
+    }
+
+    private static <T> ResponseEntity<T> failed(Throwable error, String operation) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ExhaustedRetryException) {
+            log.error("ExhaustedRetryException occurred during {}.", operation);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        if (cause instanceof IllegalArgumentException) {
+            log.info("Invalid request during {}: {}", operation, cause.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.error(
+                "[{}] occurred during {}. Error Message: {}.",
+                cause.getClass().getSimpleName(),
+                operation,
+                cause.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+}
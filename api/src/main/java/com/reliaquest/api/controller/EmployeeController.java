@@ -1,7 +1,10 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +12,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -31,7 +39,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
                 log.info("No employees found.");
                 return ResponseEntity.noContent().build();
             } else {
-                log.info("Employees data: {}. Employees found: {}", employees, employees.size());
+                log.info("Employees found: {}", employees.size());
                 return ResponseEntity.ok(employees);
             }
         } catch (ExhaustedRetryException e) {
@@ -46,6 +54,41 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    /*
+     * Not part of IEmployeeController: pages through the upstream roster with its opaque cursor. The token for the
+     * next page, if any, is returned in the X-Next-Cursor header; it is absent on the last page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<List<Employee>> getEmployeesPage(
+            @RequestParam(name = "size", defaultValue = "100") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        try {
+            EmployeePage page = employeeService.getEmployeesPage(size, cursor);
+            if (page == null) {
+                log.info("Error occurred while fetching employee page.");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+            log.info("Employees found on page: {}. Last page: {}", page.employees().size(), page.nextCursor() == null);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(ApiClient.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.employees());
+        } catch (IllegalArgumentException e) {
+            log.info("Invalid page request with size: {} and cursor: {}.", size, cursor);
+            return ResponseEntity.badRequest().build();
+        } catch (ExhaustedRetryException e) {
+            log.error("ExhaustedRetryException occurred during fetch for employee page.");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            log.error(
+                    "[{}] occurred during fetch for employee page. Error Message: {}.",
+                    e.getClass().getSimpleName(),
+                    e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         try {
@@ -187,4 +230,55 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /*
+     * Not part of IEmployeeController: bulk create and delete. Inputs are split into bounded upstream batches; the
+     * response is 200 with one result per input, in input order, whether or not individual items succeeded.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(@RequestBody List<EmployeeInput> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<BatchItemResult<Employee>> results = employeeService.createEmployees(inputs);
+            log.info(
+                    "Batch creation finished: {} of {} employees created.",
+                    results.stream().filter(BatchItemResult::isSuccess).count(),
+                    inputs.size());
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            log.error(
+                    "[{}] occurred during batch creation of {} employees. Error Message: {}.",
+                    e.getClass().getSimpleName(),
+                    inputs.size(),
+                    e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(ids);
+            log.info(
+                    "Batch deletion finished: {} of {} employees deleted.",
+                    results.stream().filter(BatchItemResult::isSuccess).count(),
+                    ids.size());
+            return ResponseEntity.ok(results);
+        } catch (ExhaustedRetryException e) {
+            log.error("ExhaustedRetryException occurred during batch deletion of {} employees.", ids.size());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            log.error(
+                    "[{}] occurred during batch deletion of {} employees. Error Message: {}.",
+                    e.getClass().getSimpleName(),
+                    ids.size(),
+                    e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
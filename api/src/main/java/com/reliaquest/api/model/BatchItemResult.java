@@ -0,0 +1,37 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request; {@code index} is the item's position in the request and {@code error} is
+ * set only when the item failed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    private int index;
+
+    private T data;
+
+    private String error;
+
+    public static <T> BatchItemResult<T> succeeded(int index, T data) {
+        return new BatchItemResult<>(index, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, String error) {
+        return new BatchItemResult<>(index, null, error);
+    }
+
+    @JsonProperty(value = "success", access = JsonProperty.Access.READ_ONLY)
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
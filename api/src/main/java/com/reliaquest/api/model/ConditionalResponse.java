@@ -0,0 +1,17 @@
+package com.reliaquest.api.model;
+
+/**
+ * Result of a conditional GET. When {@code notModified} is set upstream answered 304 and {@code value} is
+ * {@code null}: the caller's copy is still current. Otherwise {@code value} is the fresh result and {@code eTag} its
+ * entity tag, or {@code null} if upstream sent none.
+ */
+public record ConditionalResponse<T>(T value, String eTag, boolean notModified) {
+
+    public static <T> ConditionalResponse<T> modified(T value, String eTag) {
+        return new ConditionalResponse<>(value, eTag, false);
+    }
+
+    public static <T> ConditionalResponse<T> notModified(String eTag) {
+        return new ConditionalResponse<>(null, eTag, true);
+    }
+}
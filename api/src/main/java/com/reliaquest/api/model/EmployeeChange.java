@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+/**
+ * One upstream create or delete, tagged with the roster version it produced. A delete carries the employee as it was
+ * removed.
+ */
+public record EmployeeChange(long version, Type type, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * Upstream change feed since a roster version: applying {@code changes} in order brings a roster at that version to
+ * {@code version}. With {@code resyncRequired} upstream no longer knows the changes and the roster must be reloaded.
+ */
+public record EmployeeChanges(String version, boolean resyncRequired, List<EmployeeChange> changes) {}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One page of the upstream roster; {@code nextCursor} is the opaque token for the following page, or {@code null}
+ * on the last one.
+ */
+public record EmployeePage(List<Employee> employees, String nextCursor) {}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.AsyncApiClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Non-blocking facade over {@link EmployeeService}. Upstream calls go through {@link AsyncApiClient}; roster queries
+ * first make sure a snapshot is cached without blocking and then run in memory through {@link EmployeeService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncEmployeeService {
+
+    private final AsyncApiClient asyncApiClient;
+    private final RosterCache rosterCache;
+    private final EmployeeCache employeeCache;
+    private final EmployeeService employeeService;
+
+    public CompletableFuture<List<Employee>> getAll() {
+        return rosterCache.getEmployeesAsync(asyncApiClient::getAllEmployees);
+    }
+
+    public CompletableFuture<EmployeePage> getEmployeesPage(int size, String cursor) {
+        return asyncApiClient.getEmployeesPage(size, cursor);
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        return withRoster(() -> employeeService.getEmployeesByNameSearch(searchString), true);
+    }
+
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        return employeeCache.getAsync(id, key -> employeeService
+                .findInRoster(key)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> asyncApiClient.getEmployeeById(key)));
+    }
+
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        return withRoster(employeeService::getHighestSalaryOfEmployees, false);
+    }
+
+    public CompletableFuture<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return withRoster(employeeService::getTopTenHighestEarningEmployeeNames, false);
+    }
+
+    public CompletableFuture<Employee> createEmployee(EmployeeInput input) {
+        return asyncApiClient.addEmployee(input).thenApply(created -> {
+            if (created != null) {
+                employeeService.onCreated(created);
+            }
+            return created;
+        });
+    }
+
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        return getEmployeeById(id).thenCompose(employee -> {
+            if (employee == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return asyncApiClient.deleteEmployeeByName(employee.getName()).thenApply(deletedName -> {
+                if (deletedName != null) {
+                    employeeService.onDeleted(employee);
+                }
+                return deletedName;
+            });
+        });
+    }
+
+    /*
+     * A missing roster yields null where the blocking service returns null, and fails where it would throw, so
+     * the in-memory query never falls back to a blocking load.
+     */
+    private <T> CompletableFuture<T> withRoster(Supplier<T> query, boolean nullWhenUnavailable) {
+        return getAll().thenApply(roster -> {
+            if (roster != null) {
+                return query.get();
+            }
+            if (nullWhenUnavailable) {
+                return null;
+            }
+            throw new IllegalStateException("Employee roster is unavailable.");
+        });
+    }
+}
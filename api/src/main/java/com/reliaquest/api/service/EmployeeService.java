@@ -1,51 +1,70 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.UnsupportedQueryException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
-import java.util.Comparator;
+import com.reliaquest.api.model.EmployeePage;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    private static final int TOP_EARNERS_LIMIT = 10;
+
     private final ApiClient apiClient;
+    private final RosterCache rosterCache;
+    private final EmployeeCache employeeCache;
+
+    @Value("${external.api.batch-size:1000}")
+    private int batchSize;
 
     public List<Employee> getAll() {
-        return apiClient.getAllEmployees();
+        return rosterCache.getEmployees();
+    }
+
+    /*
+     * Passed through to the upstream cursor so callers page over the same stable order; never served from the cache.
+     */
+    public EmployeePage getEmployeesPage(int size, String cursor) {
+        return apiClient.getEmployeesPage(size, cursor);
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        List<Employee> allEmployees = getAll();
-        if (allEmployees == null) {
-            return null;
-        } else {
-            return allEmployees.stream()
-                    .filter(e -> e.getName().toLowerCase().contains(searchString.toLowerCase()))
-                    .toList();
-        }
+        return query(
+                roster -> roster.searchByName(searchString),
+                () -> apiClient.searchEmployeesByName(searchString),
+                () -> null);
     }
 
     public Employee getEmployeeById(String id) {
-        return apiClient.getEmployeeById(id);
+        return employeeCache.get(id, key -> findInRoster(key).orElseGet(() -> apiClient.getEmployeeById(key)));
     }
 
     public Integer getHighestSalaryOfEmployees() {
-        Optional<Employee> employeeWithHighestSalary =
-                getAll().stream().max(Comparator.comparingInt(Employee::getSalary));
-        return employeeWithHighestSalary.isPresent()
-                ? employeeWithHighestSalary.get().getSalary()
-                : null;
+        return query(Roster::highestSalary, apiClient::getHighestSalary, EmployeeService::rosterUnavailable);
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return getAll().stream()
-                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10)
+        List<Employee> topEarners = query(
+                roster -> roster.topEarners(TOP_EARNERS_LIMIT),
+                () -> apiClient.getTopEarners(TOP_EARNERS_LIMIT),
+                EmployeeService::rosterUnavailable);
+        return Optional.ofNullable(topEarners).orElse(List.of()).stream()
                 .map(Employee::getName)
                 .toList(); // Replace this line with below comment for manual validation
 
@@ -53,15 +72,156 @@ public class EmployeeService {
     }
 
     public Employee createEmployee(EmployeeInput input) {
-        return apiClient.addEmployee(input);
+        Employee created = apiClient.addEmployee(input);
+        if (created != null) {
+            onCreated(created);
+        }
+        return created;
     }
 
     public String deleteEmployeeById(String id) {
         Employee employee = getEmployeeById(id);
         if (employee != null) {
-            return apiClient.deleteEmployeeByName(employee.getName());
+            String deletedName = apiClient.deleteEmployeeByName(employee.getName());
+            if (deletedName != null) {
+                onDeleted(employee);
+            }
+            return deletedName;
         } else {
             return null;
         }
     }
+
+    /**
+     * Creates employees through upstream batch requests of at most {@code external.api.batch-size} items each.
+     *
+     * @return one result per input, in input order
+     */
+    public List<BatchItemResult<Employee>> createEmployees(List<EmployeeInput> inputs) {
+        return inBatches(inputs, apiClient::addEmployees, this::onCreated);
+    }
+
+    /**
+     * Deletes employees through upstream batch requests, resolving the ids against the roster rather than one
+     * lookup per id. Upstream deletes by name, so where names are shared it may remove another employee than the one
+     * asked for; that item is reported as failed, naming the id actually deleted.
+     *
+     * @return one result per id, in input order, carrying the deleted employee's name
+     * @throws IllegalStateException if the roster is unavailable, before anything is deleted
+     */
+    public List<BatchItemResult<String>> deleteEmployeesById(List<String> ids) {
+        @SuppressWarnings("unchecked")
+        BatchItemResult<String>[] results = new BatchItemResult[ids.size()];
+        Roster roster = rosterCache.getRoster();
+        if (roster == null) {
+            return rosterUnavailable();
+        }
+        List<String> names = new ArrayList<>(ids.size());
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            String id = ids.get(index);
+            Employee employee = roster.findById(id).orElse(null);
+            if (employee == null) {
+                results[index] = BatchItemResult.failed(index, "No employee found with id " + id + ".");
+            } else {
+                names.add(employee.getName());
+                positions.add(index);
+            }
+        }
+        for (BatchItemResult<Employee> deleted : inBatches(names, apiClient::deleteEmployeesByName, this::onDeleted)) {
+            int index = positions.get(deleted.getIndex());
+            if (!deleted.isSuccess()) {
+                results[index] = BatchItemResult.failed(index, deleted.getError());
+            } else if (!ids.get(index).equals(deleted.getData().getId())) {
+                results[index] = BatchItemResult.failed(
+                        index,
+                        "Deleted employee with id " + deleted.getData().getId() + " instead, who has the same name.");
+            } else {
+                results[index] = BatchItemResult.succeeded(index, deleted.getData().getName());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    void onCreated(Employee created) {
+        rosterCache.employeeCreated(created);
+        employeeCache.put(created);
+    }
+
+    void onDeleted(Employee deleted) {
+        rosterCache.employeeDeleted(deleted.getId());
+        employeeCache.invalidate(deleted.getId());
+    }
+
+    /*
+     * Consults an already cached roster only; a single lookup never triggers a full roster load.
+     */
+    Optional<Employee> findInRoster(String id) {
+        Roster roster = rosterCache.peek();
+        return roster == null ? Optional.empty() : roster.findById(id);
+    }
+
+    /*
+     * A cached roster answers in memory. Without one the upstream query endpoint answers, so an aggregate never
+     * waits for the whole roster, which meanwhile loads in the background for later reads; only an upstream lacking
+     * that endpoint makes the roster load in the foreground.
+     */
+    private <T> T query(Function<Roster, T> inRoster, Supplier<T> upstream, Supplier<T> unavailable) {
+        Roster roster = rosterCache.getRosterIfCached();
+        if (roster == null && apiClient.supportsQueries()) {
+            rosterCache.prefetch();
+            try {
+                return upstream.get();
+            } catch (UnsupportedQueryException e) {
+                // Answered from the roster below.
+            }
+        }
+        if (roster == null) {
+            roster = rosterCache.getRoster();
+        }
+        return roster == null ? unavailable.get() : inRoster.apply(roster);
+    }
+
+    /*
+     * Once a batch request fails as a whole, its items and every later item are reported as failed without being
+     * sent: a failure at that level, typically exhausted 429 retries, would only repeat for the rest.
+     */
+    private <I> List<BatchItemResult<Employee>> inBatches(
+            List<I> items,
+            Function<List<I>, List<BatchItemResult<Employee>>> batchCall,
+            Consumer<Employee> onSuccess) {
+        List<BatchItemResult<Employee>> results = new ArrayList<>(items.size());
+        int size = batchSize > 0 ? batchSize : Math.max(items.size(), 1);
+        for (int from = 0; from < items.size(); from += size) {
+            List<I> batch = items.subList(from, Math.min(from + size, items.size()));
+            List<BatchItemResult<Employee>> batchResults;
+            String failure = "Batch request failed.";
+            try {
+                batchResults = batchCall.apply(batch);
+            } catch (RuntimeException e) {
+                batchResults = null;
+                failure = "Batch request failed: " + e.getMessage();
+            }
+            if (batchResults == null || batchResults.size() != batch.size()) {
+                for (int index = from; index < items.size(); index++) {
+                    results.add(BatchItemResult.failed(index, failure));
+                }
+                return results;
+            }
+            for (BatchItemResult<Employee> result : batchResults) {
+                int index = from + result.getIndex();
+                if (result.isSuccess()) {
+                    onSuccess.accept(result.getData());
+                    results.add(BatchItemResult.succeeded(index, result.getData()));
+                } else {
+                    results.add(BatchItemResult.failed(index, result.getError()));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <T> T rosterUnavailable() {
+        throw new IllegalStateException("Employee roster is unavailable.");
+    }
 }
@@ -0,0 +1,232 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares request threading modes of the api module under many concurrent slow upstream calls. Boots
+ * {@link ApiApplication} against a stub upstream that answers every {@code GET /{id}} after a fixed delay without
+ * holding a thread, fires all requests at once and records throughput, latency percentiles, peak heap and peak
+ * platform thread count.
+ *
+ * <p>Run through Gradle, which uses a Java 21 launcher for both modes so the numbers are comparable:
+ * {@code ./gradlew api:virtualThreadBenchmark [-PbenchmarkRequests=10000] [-PbenchmarkDelayMillis=1000]}.
+ * Results are written to {@code api/build/benchmark/virtual-threads-<mode>.json}.
+ */
+public final class VirtualThreadBenchmark {
+
+    private static final int WARMUP_REQUESTS = 200;
+
+    private VirtualThreadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        String mode = args[0];
+        int requests = Integer.parseInt(args[1]);
+        long delayMillis = Long.parseLong(args[2]);
+        Path output = Path.of(args[3]);
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer.");
+        }
+
+        try (SlowUpstream upstream = SlowUpstream.start(delayMillis, requests);
+                ConfigurableApplicationContext api = new SpringApplicationBuilder(ApiApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "spring.threads.virtual.enabled=" + virtual,
+                                "server.tomcat.max-connections=" + (requests * 2),
+                                "server.tomcat.accept-count=" + requests,
+                                "external.api.base-url=" + upstream.baseUrl(),
+                                "external.api.rate-limit.enabled=false",
+                                "external.api.http.max-total=" + requests,
+                                "external.api.http.max-per-route=" + requests,
+                                "external.api.http.connection-request-timeout=120s",
+                                "external.api.http.read-timeout=120s",
+                                "logging.level.com.reliaquest=WARN")
+                        .run()) {
+            URI base = URI.create("http://localhost:" + api.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/employee/");
+            HttpClient client =
+                    HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            fire(client, base, 0, WARMUP_REQUESTS);
+            System.gc();
+
+            ResourceSampler sampler = ResourceSampler.start();
+            long start = System.nanoTime();
+            // Ids the warm-up did not use, so no measured request is answered from the employee cache.
+            long[] latencies = fire(client, base, WARMUP_REQUESTS, requests);
+            long elapsedNanos = System.nanoTime() - start;
+            sampler.stop();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("javaVersion", Runtime.version().toString());
+            result.put("requests", requests);
+            result.put("upstreamDelayMillis", delayMillis);
+            result.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.put("throughputPerSecond", requests / (elapsedNanos / 1e9));
+            result.put("errors", Arrays.stream(latencies).filter(latency -> latency < 0).count());
+            long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+            result.put("latencyP50Millis", percentileMillis(sorted, 0.50));
+            result.put("latencyP99Millis", percentileMillis(sorted, 0.99));
+            result.put("latencyMaxMillis", percentileMillis(sorted, 1.0));
+            result.put("peakHeapUsedMb", sampler.peakHeapUsed() / (1024 * 1024));
+            result.put("peakPlatformThreads", sampler.peakThreads());
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * Requests the ids {@code firstId} to {@code firstId + requests - 1}.
+     *
+     * @return per-request latency in nanoseconds, or -1 for requests that failed or did not return 200
+     */
+    private static long[] fire(HttpClient client, URI base, int firstId, int requests) {
+        long[] latencies = new long[requests];
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(base.resolve(Integer.toString(firstId + i)))
+                    .GET()
+                    .build();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] =
+                                error == null && response.statusCode() == 200 ? System.nanoTime() - sentAt : -1;
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return latencies;
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+    }
+
+    /*
+     * Replies from a timer after the configured delay, so a slow upstream costs the stub no threads and the
+     * measured thread and heap usage belongs to the api under test.
+     */
+    private static final class SlowUpstream implements AutoCloseable {
+
+        private static final String BODY = "{\"data\":{\"id\":\"%s\",\"employee_name\":\"Bench Mark\","
+                + "\"employee_salary\":100000,\"employee_age\":30,\"employee_title\":\"Benchmark\","
+                + "\"employee_email\":\"bench@company.com\"},\"status\":\"Successfully processed request.\"}";
+
+        private final HttpServer server;
+        private final ScheduledExecutorService timer;
+
+        private SlowUpstream(HttpServer server, ScheduledExecutorService timer) {
+            this.server = server;
+            this.timer = timer;
+        }
+
+        static SlowUpstream start(long delayMillis, int backlog) throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), backlog);
+            ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+            server.createContext(
+                    "/api/v1/employee/",
+                    exchange -> timer.schedule(() -> respond(exchange), delayMillis, TimeUnit.MILLISECONDS));
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+            return new SlowUpstream(server, timer);
+        }
+
+        String baseUrl() {
+            return "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+        }
+
+        private static void respond(HttpExchange exchange) {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = BODY.formatted(path.substring(path.lastIndexOf('/') + 1))
+                    .getBytes(StandardCharsets.UTF_8);
+            try (OutputStream out = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+            timer.shutdownNow();
+        }
+    }
+
+    private static final class ResourceSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicLong peakHeapUsed = new AtomicLong();
+        private final AtomicInteger peakThreads = new AtomicInteger();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+
+        static ResourceSampler start() {
+            ResourceSampler resourceSampler = new ResourceSampler();
+            resourceSampler.threads.resetPeakThreadCount();
+            resourceSampler.sampler.scheduleAtFixedRate(resourceSampler::sample, 0, 10, TimeUnit.MILLISECONDS);
+            return resourceSampler;
+        }
+
+        private void sample() {
+            peakHeapUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+        }
+
+        void stop() {
+            sampler.shutdownNow();
+            sample();
+            peakThreads.accumulateAndGet(threads.getPeakThreadCount(), Math::max);
+        }
+
+        long peakHeapUsed() {
+            return peakHeapUsed.get();
+        }
+
+        int peakThreads() {
+            return peakThreads.get();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(5);
+
+    private MutableClock clock;
+    private EmployeeCache employeeCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        employeeCache = new EmployeeCache(2, TTL, NEGATIVE_TTL, clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void foundEmployeeIsServedFromCacheUntilTtl() {
+        employeeCache.get("1", loader(employee("1", "Alice")));
+        clock.advance(TTL.minusSeconds(1));
+        assertEquals("Alice", employeeCache.get("1", loader(null)).getName());
+        assertEquals(1, loads.get());
+
+        clock.advance(Duration.ofSeconds(1));
+        employeeCache.get("1", loader(employee("1", "Alice")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void missIsCachedForNegativeTtlOnly() {
+        assertNull(employeeCache.get("404", loader(null)));
+        assertNull(employeeCache.get("404", loader(null)));
+        assertEquals(1, loads.get());
+        assertEquals(1, employeeCache.stats().negativeHits());
+
+        clock.advance(NEGATIVE_TTL);
+        employeeCache.get("404", loader(null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedBeyondMaxSize() {
+        employeeCache.get("1", loader(employee("1", "Alice")));
+        employeeCache.get("2", loader(employee("2", "Bob")));
+        employeeCache.get("1", loader(null));
+        employeeCache.get("3", loader(employee("3", "Carol")));
+
+        employeeCache.get("1", loader(null));
+        assertEquals(3, loads.get());
+        employeeCache.get("2", loader(employee("2", "Bob")));
+        assertEquals(4, loads.get());
+        assertEquals(2, employeeCache.stats().size());
+    }
+
+    @Test
+    void writesReplaceAndInvalidateEntries() {
+        employeeCache.get("1", loader(null));
+
+        employeeCache.put(employee("1", "Alice"));
+        assertEquals("Alice", employeeCache.get("1", loader(null)).getName());
+
+        employeeCache.invalidate("1");
+        assertNull(employeeCache.get("1", loader(null)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsReturnedButNotCached() {
+        Employee alice = employee("1", "Alice");
+
+        Employee loaded = employeeCache.get("1", id -> {
+            employeeCache.invalidate(id);
+            return alice;
+        });
+
+        assertSame(alice, loaded);
+        assertEquals(0, employeeCache.stats().size());
+    }
+
+    @Test
+    void asyncLookupCachesCompletedLoad() {
+        Employee alice = employee("1", "Alice");
+
+        Function<String, CompletableFuture<Employee>> failing =
+                id -> CompletableFuture.failedFuture(new IllegalStateException("not cached"));
+
+        assertSame(alice, employeeCache.getAsync("1", id -> CompletableFuture.completedFuture(alice)).join());
+        assertSame(alice, employeeCache.getAsync("1", failing).join());
+    }
+
+    private Function<String, Employee> loader(Employee result) {
+        return id -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 1000, 30, "Engineer", null);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
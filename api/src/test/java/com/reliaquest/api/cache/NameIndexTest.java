@@ -0,0 +1,98 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private NameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        nameIndex = new NameIndex();
+        nameIndex.add(employee("1", "Alice Smith"));
+        nameIndex.add(employee("2", "Bob Jones"));
+        nameIndex.add(employee("3", "alicia SMITHERS"));
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndKeepsInsertionOrder() {
+        assertEquals(List.of("Alice Smith", "alicia SMITHERS"), names(nameIndex.search("ALI")));
+        assertEquals(List.of("Alice Smith", "alicia SMITHERS"), names(nameIndex.search("smith")));
+    }
+
+    @Test
+    void candidatesSharingTrigramsAreVerifiedAgainstWholeFragment() {
+        assertEquals(List.of("alicia SMITHERS"), names(nameIndex.search("smithe")));
+        assertTrue(nameIndex.search("ice smithers").isEmpty());
+    }
+
+    @Test
+    void fragmentsShorterThanTrigramAreScanned() {
+        assertEquals(List.of("Bob Jones"), names(nameIndex.search("bo")));
+        assertEquals(3, nameIndex.search("").size());
+    }
+
+    @Test
+    void unknownTrigramMatchesNothing() {
+        assertTrue(nameIndex.search("xyz").isEmpty());
+    }
+
+    @Test
+    void removedEmployeesAreNoLongerFound() {
+        nameIndex.remove("1");
+
+        assertEquals(List.of("alicia SMITHERS"), names(nameIndex.search("ali")));
+        assertEquals(List.of("alicia SMITHERS"), names(nameIndex.search("a")));
+    }
+
+    @Test
+    void repeatedTrigramsInOneNameYieldOneMatch() {
+        nameIndex.add(employee("4", "Anana Banana"));
+
+        assertEquals(List.of("Anana Banana"), names(nameIndex.search("ana")));
+    }
+
+    @Test
+    void indexGrowsBeyondInitialCapacity() {
+        for (int i = 0; i < 5_000; i++) {
+            nameIndex.add(employee("bulk-" + i, "Employee " + i));
+        }
+
+        assertEquals(List.of("Employee 4321"), names(nameIndex.search("employee 4321")));
+        assertEquals(5_000, nameIndex.search("emp").size());
+    }
+
+    @Test
+    void replacingEmployeesDoesNotGrowTheIndexAndKeepsOrder() {
+        for (int round = 0; round < 2_000; round++) {
+            nameIndex.remove("2");
+            nameIndex.add(employee("2", "Bob Jones"));
+        }
+
+        assertTrue(nameIndex.slotCount() < 2_100);
+        assertEquals(List.of("Alice Smith", "alicia SMITHERS", "Bob Jones"), names(nameIndex.search("")));
+        assertEquals(List.of("Bob Jones"), names(nameIndex.search("jones")));
+        assertEquals(List.of("Alice Smith", "alicia SMITHERS"), names(nameIndex.search("smith")));
+    }
+
+    @Test
+    void employeesWithoutNameAreNotIndexed() {
+        nameIndex.add(employee("5", null));
+        nameIndex.remove("5");
+
+        assertEquals(3, nameIndex.search("").size());
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 1000, 30, "Engineer", null);
+    }
+}
@@ -0,0 +1,389 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.ConditionalResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+class RosterCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private ApiClient apiClient;
+    private MutableClock clock;
+    private List<Runnable> scheduledRefreshes;
+    private RosterCache rosterCache;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(ApiClient.class);
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        scheduledRefreshes = new ArrayList<>();
+        rosterCache = new RosterCache(apiClient, TTL, 0, scheduledRefreshes::add, clock);
+    }
+
+    @Test
+    void firstReadLoadsSynchronouslyAndCountsMiss() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        List<Employee> result = rosterCache.getEmployees();
+
+        assertEquals(1, result.size());
+        RosterCacheStats stats = rosterCache.stats();
+        assertEquals(1, stats.version());
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void readsWithinTtlAreServedFromSnapshot() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.minusSeconds(1));
+        rosterCache.getEmployees();
+
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+        assertTrue(scheduledRefreshes.isEmpty());
+        assertEquals(1, rosterCache.stats().hits());
+        assertEquals(Duration.ofSeconds(29), rosterCache.stats().age());
+    }
+
+    @Test
+    void expiredSnapshotIsServedWhileSingleRefreshRuns() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(employee("1", "Alice"))))
+                .thenAnswer(collecting(List.of(employee("1", "Alice"), employee("2", "Bob"))));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL);
+
+        assertEquals(1, rosterCache.getEmployees().size());
+        assertEquals(1, rosterCache.getEmployees().size());
+        assertEquals(1, scheduledRefreshes.size());
+        assertTrue(rosterCache.stats().refreshing());
+
+        scheduledRefreshes.get(0).run();
+
+        assertFalse(rosterCache.stats().refreshing());
+        assertEquals(2, rosterCache.stats().version());
+        assertEquals(2, rosterCache.getEmployees().size());
+    }
+
+    @Test
+    void unchangedRosterIsRevalidatedInsteadOfReloaded() {
+        when(apiClient.getAllEmployeesIfModified(any(), isNull()))
+                .thenAnswer(collecting(List.of(employee("1", "Alice")), "\"v1\""));
+        when(apiClient.getAllEmployeesIfModified(any(), eq("\"v1\"")))
+                .thenReturn(ConditionalResponse.notModified("\"v1\""));
+
+        Roster loaded = rosterCache.getRoster();
+        clock.advance(TTL);
+        rosterCache.getEmployees();
+        scheduledRefreshes.get(0).run();
+
+        assertSame(loaded, rosterCache.getRoster());
+        assertEquals(1, rosterCache.stats().version());
+        assertEquals(Duration.ZERO, rosterCache.stats().age());
+        assertEquals(1, scheduledRefreshes.size());
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), eq("\"v1\""));
+    }
+
+    @Test
+    void refreshAppliesUpstreamChangesInPlace() {
+        when(apiClient.supportsChangeFeed()).thenReturn(true);
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(employee("1", "Alice"), employee("2", "Bob")), "\"e-5\""));
+        when(apiClient.getChangesSince("\"e-5\""))
+                .thenReturn(new EmployeeChanges(
+                        "e-7",
+                        false,
+                        List.of(
+                                new EmployeeChange(6, EmployeeChange.Type.DELETED, employee("1", "Alice")),
+                                new EmployeeChange(7, EmployeeChange.Type.CREATED, employee("3", "Carol", 9000)))));
+
+        Roster loaded = rosterCache.getRoster();
+        clock.advance(TTL);
+        rosterCache.getEmployees();
+        scheduledRefreshes.get(0).run();
+
+        assertSame(loaded, rosterCache.getRoster());
+        assertEquals(List.of("Bob", "Carol"), loaded.employees().stream().map(Employee::getName).toList());
+        assertEquals(9000, loaded.highestSalary());
+        assertEquals("\"e-7\"", loaded.eTag());
+        assertEquals(Duration.ZERO, rosterCache.stats().age());
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
+    @Test
+    void resyncMarkerFallsBackToFullLoad() {
+        when(apiClient.supportsChangeFeed()).thenReturn(true);
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(employee("1", "Alice")), "\"e-5\""))
+                .thenAnswer(collecting(List.of(employee("2", "Bob")), "\"e-900\""));
+        when(apiClient.getChangesSince("\"e-5\"")).thenReturn(new EmployeeChanges(null, true, List.of()));
+
+        rosterCache.getRoster();
+        clock.advance(TTL);
+        rosterCache.getEmployees();
+        scheduledRefreshes.get(0).run();
+
+        assertEquals("Bob", rosterCache.getEmployees().get(0).getName());
+        assertEquals("\"e-900\"", rosterCache.peek().eTag());
+        verify(apiClient, times(2)).getAllEmployeesIfModified(any(), any());
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousSnapshot() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(employee("1", "Alice"))))
+                .thenThrow(new RuntimeException("upstream down"));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL);
+        rosterCache.getEmployees();
+        scheduledRefreshes.get(0).run();
+
+        assertFalse(rosterCache.stats().refreshing());
+        assertEquals(1, rosterCache.stats().version());
+        assertEquals("Alice", rosterCache.getEmployees().get(0).getName());
+    }
+
+    @Test
+    void failedInitialLoadReturnsNullAndIsNotCached() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenReturn(null)
+                .thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        assertNull(rosterCache.getEmployees());
+        assertEquals(1, rosterCache.getEmployees().size());
+        assertEquals(2, rosterCache.stats().misses());
+    }
+
+    @Test
+    void invalidateTriggersRefreshOnNextRead() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        rosterCache.getEmployees();
+        rosterCache.invalidate();
+        rosterCache.getEmployees();
+
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void confirmedRosterDoesNotExpire() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.minusSeconds(1));
+        rosterCache.confirmCurrent();
+        clock.advance(TTL.minusSeconds(1));
+        rosterCache.getEmployees();
+
+        assertTrue(scheduledRefreshes.isEmpty());
+        assertEquals(Duration.ofSeconds(29), rosterCache.stats().age());
+    }
+
+    @Test
+    void resyncRefreshesWithoutWaitingForARead() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        rosterCache.getEmployees();
+        rosterCache.resync();
+
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void createsAndDeletesAreAppliedToCachedRosterInPlace() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+        long loadedVersion = rosterCache.getRoster().version();
+
+        rosterCache.employeeCreated(employee("2", "Bob", 5000));
+
+        Roster roster = rosterCache.getRoster();
+        assertEquals(2, roster.size());
+        assertEquals(5000, roster.highestSalary());
+        assertTrue(roster.version() > loadedVersion);
+
+        rosterCache.employeeDeleted("2");
+
+        assertEquals(1000, rosterCache.getRoster().highestSalary());
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
+    @Test
+    void changesMadeWhileLoadIsInFlightAreReplayedOntoLoadedRoster() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+        rosterCache.getEmployees();
+        clock.advance(TTL);
+        rosterCache.getEmployees();
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(invocation -> {
+            rosterCache.employeeCreated(employee("2", "Bob", 5000));
+            rosterCache.employeeDeleted("1");
+            return collecting(List.of(employee("1", "Alice"))).answer(invocation);
+        });
+
+        scheduledRefreshes.get(0).run();
+
+        List<Employee> employees = rosterCache.getEmployees();
+        assertEquals(1, employees.size());
+        assertEquals("Bob", employees.get(0).getName());
+    }
+
+    @Test
+    void prefetchLoadsMissingRosterInBackgroundOnce() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(List.of(employee("1", "Alice"))));
+
+        rosterCache.prefetch();
+        rosterCache.prefetch();
+        assertNull(rosterCache.peek());
+        assertEquals(1, scheduledRefreshes.size());
+
+        scheduledRefreshes.get(0).run();
+        rosterCache.prefetch();
+
+        assertEquals(1, rosterCache.peek().size());
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void concurrentAsyncMissesShareOneLoad() {
+        List<Collector<Employee, ?, Roster>> loads = new ArrayList<>();
+        CompletableFuture<Roster> pending = new CompletableFuture<>();
+        Function<Collector<Employee, ?, Roster>, CompletableFuture<Roster>> loader = collector -> {
+            loads.add(collector);
+            return pending;
+        };
+
+        CompletableFuture<List<Employee>> first = rosterCache.getEmployeesAsync(loader);
+        CompletableFuture<List<Employee>> second = rosterCache.getEmployeesAsync(loader);
+        pending.complete(Stream.of(employee("1", "Alice")).collect(loads.get(0)));
+
+        assertEquals(1, loads.size());
+        assertEquals(1, first.join().size());
+        assertSame(first.join(), second.join());
+        assertEquals(1, rosterCache.getEmployeesAsync(loader).join().size());
+        assertEquals(1, loads.size());
+        assertEquals(2, rosterCache.stats().misses());
+    }
+
+    @Test
+    void failedAsyncLoadIsNotSharedWithLaterMisses() {
+        List<Collector<Employee, ?, Roster>> loads = new ArrayList<>();
+        Function<Collector<Employee, ?, Roster>, CompletableFuture<Roster>> loader = collector -> {
+            loads.add(collector);
+            return CompletableFuture.completedFuture(
+                    loads.size() == 1 ? null : Stream.of(employee("1", "Alice")).collect(collector));
+        };
+
+        assertNull(rosterCache.getEmployeesAsync(loader).join());
+        assertEquals(1, rosterCache.getEmployeesAsync(loader).join().size());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void pagedLoadFollowsCursorUntilLastPage() {
+        RosterCache paged = new RosterCache(apiClient, TTL, 2, scheduledRefreshes::add, clock);
+        when(apiClient.getFirstEmployeesPageIfModified(2, null))
+                .thenReturn(ConditionalResponse.modified(
+                        new EmployeePage(List.of(employee("1", "Alice"), employee("2", "Bob")), "page-2"), null));
+        when(apiClient.getEmployeesPage(2, "page-2"))
+                .thenReturn(new EmployeePage(List.of(employee("3", "Carol", 7000)), null));
+
+        Roster roster = paged.getRoster();
+
+        assertEquals(3, roster.size());
+        assertEquals(7000, roster.highestSalary());
+        verify(apiClient, never()).getAllEmployeesIfModified(any(), any());
+    }
+
+    @Test
+    void failedPageKeepsPreviousRoster() {
+        RosterCache paged = new RosterCache(apiClient, TTL, 2, scheduledRefreshes::add, clock);
+        when(apiClient.getFirstEmployeesPageIfModified(2, null))
+                .thenReturn(
+                        ConditionalResponse.modified(new EmployeePage(List.of(employee("1", "Alice")), null), null));
+        paged.getRoster();
+        clock.advance(TTL);
+        when(apiClient.getFirstEmployeesPageIfModified(2, null))
+                .thenReturn(ConditionalResponse.modified(
+                        new EmployeePage(List.of(employee("1", "Alice"), employee("2", "Bob")), "page-2"), null));
+        when(apiClient.getEmployeesPage(2, "page-2")).thenReturn(null);
+
+        paged.getRoster();
+        scheduledRefreshes.get(0).run();
+
+        assertEquals(1, paged.getRoster().size());
+        assertEquals(1, paged.stats().version());
+    }
+
+    private static Answer<Object> collecting(List<Employee> employees) {
+        return collecting(employees, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> collecting(List<Employee> employees, String eTag) {
+        return invocation -> ConditionalResponse.modified(
+                employees.stream().collect((Collector<Employee, Object, Object>) invocation.getArgument(0)), eTag);
+    }
+
+    private static Employee employee(String id, String name) {
+        return employee(id, name, 1000);
+    }
+
+    private static Employee employee(String id, String name, int salary) {
+        return new Employee(id, name, salary, 30, "Engineer", name.toLowerCase() + "@company.com");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
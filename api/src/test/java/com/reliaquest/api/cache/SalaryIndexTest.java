@@ -0,0 +1,79 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private SalaryIndex salaryIndex;
+
+    @BeforeEach
+    void setUp() {
+        salaryIndex = new SalaryIndex();
+    }
+
+    @Test
+    void highestIsTrackedAcrossAddsAndRemoves() {
+        Employee alice = employee("1", "Alice", 1000);
+        Employee bob = employee("2", "Bob", 3000);
+        Employee carol = employee("3", "Carol", 3000);
+        salaryIndex.add(alice);
+        salaryIndex.add(bob);
+        salaryIndex.add(carol);
+
+        salaryIndex.remove(bob);
+        assertEquals(3000, salaryIndex.highest());
+
+        salaryIndex.remove(carol);
+        assertEquals(1000, salaryIndex.highest());
+
+        salaryIndex.remove(alice);
+        assertNull(salaryIndex.highest());
+    }
+
+    @Test
+    void topReturnsDescendingSalariesWithTiesInInsertionOrder() {
+        salaryIndex.add(employee("1", "Alice", 1000));
+        salaryIndex.add(employee("2", "Bob", 3000));
+        salaryIndex.add(employee("3", "Carol", 2000));
+        salaryIndex.add(employee("4", "Dave", 3000));
+
+        List<String> names = salaryIndex.top(3).stream().map(Employee::getName).toList();
+
+        assertEquals(List.of("Bob", "Dave", "Carol"), names);
+    }
+
+    @Test
+    void topIsBoundedByIndexSize() {
+        salaryIndex.add(employee("1", "Alice", 1000));
+
+        assertEquals(1, salaryIndex.top(10).size());
+    }
+
+    @Test
+    void employeesWithoutSalaryAreNotIndexed() {
+        salaryIndex.add(employee("1", "Alice", null));
+        salaryIndex.remove(employee("1", "Alice", null));
+
+        assertNull(salaryIndex.highest());
+        assertTrue(salaryIndex.top(10).isEmpty());
+    }
+
+    @Test
+    void removingUnknownEmployeeIsNoOp() {
+        salaryIndex.add(employee("1", "Alice", 1000));
+
+        salaryIndex.remove(employee("2", "Bob", 1000));
+
+        assertEquals(1, salaryIndex.top(10).size());
+        assertEquals(1000, salaryIndex.highest());
+    }
+
+    private static Employee employee(String id, String name, Integer salary) {
+        return new Employee(id, name, salary, 30, "Engineer", null);
+    }
+}
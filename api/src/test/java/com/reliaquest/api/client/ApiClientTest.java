@@ -2,22 +2,35 @@ package com.reliaquest.api.client;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import com.reliaquest.api.model.ApiDataResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.ConditionalResponse;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Field;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootTest
@@ -46,37 +59,214 @@ class ApiClientTest {
     }
 
     @Test
-    void getAllEmployeesReturnsListOnSuccess() {
-        List<Employee> mockEmployees = List.of(new Employee("1", "fred", 1000, null, null, null));
-        ApiDataResponse<List<Employee>> responseBody = new ApiDataResponse<>();
-        responseBody.setData(mockEmployees);
+    void getAllEmployeesStreamsRosterIntoCollector() throws Exception {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getHeaders()).thenReturn(new HttpHeaders());
+        when(response.getBody())
+                .thenReturn(new ByteArrayInputStream(
+                        "{\"data\":[{\"id\":\"1\",\"employee_name\":\"fred\",\"employee_salary\":1000}]}"
+                                .getBytes(StandardCharsets.UTF_8)));
+        when(restTemplate.execute(
+                        eq(baseUrl), eq(HttpMethod.GET), any(), ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<Object>>getArgument(3).extractData(response));
 
-        ResponseEntity<ApiDataResponse<List<Employee>>> response = ResponseEntity.ok(responseBody);
+        List<Employee> result = apiClient.getAllEmployees(Collectors.toList());
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("fred", result.get(0).getName());
+    }
+
+    @Test
+    void getAllEmployeesReturnsNullOnException() {
+        when(restTemplate.execute(
+                        eq(baseUrl), eq(HttpMethod.GET), any(), ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenThrow(new RuntimeException("Some failure"));
+
+        List<Employee> result = apiClient.getAllEmployees(Collectors.toList());
+        assertNull(result);
+    }
+
+    @Test
+    void getEmployeesPageReturnsEmployeesAndNextCursor() {
+        ApiDataResponse<List<Employee>> responseBody = new ApiDataResponse<>();
+        responseBody.setData(List.of(new Employee("1", "fred", 1000, null, null, null)));
+        ResponseEntity<ApiDataResponse<List<Employee>>> response = ResponseEntity.ok()
+                .header(ApiClient.NEXT_CURSOR_HEADER, "next-token")
+                .body(responseBody);
 
         when(restTemplate.exchange(
-                        eq(baseUrl),
+                        eq(URI.create(baseUrl + "?size=50&cursor=abc")),
                         eq(HttpMethod.GET),
                         isNull(),
                         ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any()))
                 .thenReturn(response);
 
-        List<Employee> result = apiClient.getAllEmployees();
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("fred", result.get(0).getName());
+        EmployeePage page = apiClient.getEmployeesPage(50, "abc");
+        assertEquals(1, page.employees().size());
+        assertEquals("next-token", page.nextCursor());
     }
 
     @Test
-    void getAllEmployeesReturnsNullOnException() {
+    void firstPageIfModifiedReturnsETagOfFreshPage() {
+        ApiDataResponse<List<Employee>> responseBody = new ApiDataResponse<>();
+        responseBody.setData(List.of(new Employee("1", "fred", 1000, null, null, null)));
+        ResponseEntity<ApiDataResponse<List<Employee>>> response =
+                ResponseEntity.ok().eTag("\"v2\"").body(responseBody);
+
         when(restTemplate.exchange(
-                        eq(baseUrl),
+                        eq(URI.create(baseUrl + "?size=50")),
+                        eq(HttpMethod.GET),
+                        ArgumentMatchers.<HttpEntity<?>>argThat(
+                                entity -> entity.getHeaders().getIfNoneMatch().equals(List.of("\"v1\""))),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any()))
+                .thenReturn(response);
+
+        ConditionalResponse<EmployeePage> page = apiClient.getFirstEmployeesPageIfModified(50, "\"v1\"");
+        assertFalse(page.notModified());
+        assertEquals("\"v2\"", page.eTag());
+        assertEquals(1, page.value().employees().size());
+    }
+
+    @Test
+    void firstPageIfModifiedReportsNotModifiedOn304() {
+        when(restTemplate.exchange(
+                        eq(URI.create(baseUrl + "?size=50")),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        ConditionalResponse<EmployeePage> page = apiClient.getFirstEmployeesPageIfModified(50, "\"v1\"");
+        assertTrue(page.notModified());
+        assertNull(page.value());
+    }
+
+    @Test
+    void getEmployeesPageRejectsInvalidCursor() {
+        when(restTemplate.exchange(
+                        any(URI.class),
                         eq(HttpMethod.GET),
                         isNull(),
                         ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any()))
-                .thenThrow(new RuntimeException("Some failure"));
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
 
-        List<Employee> result = apiClient.getAllEmployees();
-        assertNull(result);
+        assertThrows(IllegalArgumentException.class, () -> apiClient.getEmployeesPage(50, "bogus"));
+    }
+
+    @Test
+    void getHighestSalaryIsAnsweredByServerQuery() {
+        ApiDataResponse<Integer> responseBody = new ApiDataResponse<>();
+        responseBody.setData(4000);
+
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/salary/max"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<Integer>>>any()))
+                .thenReturn(ResponseEntity.ok(responseBody));
+
+        assertEquals(4000, apiClient.getHighestSalary());
+        assertTrue(apiClient.supportsQueries());
+    }
+
+    @Test
+    void serverQueriesFailFastOnceUpstreamLacksThem() {
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/search/{fragment}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any(),
+                        eq("ali")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThrows(UnsupportedQueryException.class, () -> apiClient.searchEmployeesByName("ali"));
+        assertFalse(apiClient.supportsQueries());
+        assertThrows(UnsupportedQueryException.class, () -> apiClient.getTopEarners(10));
+
+        verify(restTemplate, never())
+                .exchange(
+                        eq(baseUrl + "/salary/top?limit={limit}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<Employee>>>>any(),
+                        eq(10));
+    }
+
+    @Test
+    void serverQueriesAreRetriedAfterRecheckInterval() {
+        ReflectionTestUtils.setField(apiClient, "queryRecheckInterval", Duration.ZERO);
+        ApiDataResponse<Integer> responseBody = new ApiDataResponse<>();
+        responseBody.setData(5000);
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/salary/max"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<Integer>>>any()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenReturn(ResponseEntity.ok(responseBody));
+
+        assertThrows(UnsupportedQueryException.class, () -> apiClient.getHighestSalary());
+        assertTrue(apiClient.supportsQueries());
+        assertEquals(5000, apiClient.getHighestSalary());
+    }
+
+    @Test
+    void missingChangeFeedIsRememberedAndNotAskedAgain() {
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/changes?since={since}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<EmployeeChanges>>>any(),
+                        eq("\"e-5\"")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertNull(apiClient.getChangesSince("\"e-5\""));
+        assertFalse(apiClient.supportsChangeFeed());
+        assertNull(apiClient.getChangesSince("\"e-5\""));
+
+        verify(restTemplate, times(1))
+                .exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<Object>>any(),
+                        anyString());
+    }
+
+    @Test
+    void changeFeedIsAskedAgainAfterRecheckInterval() {
+        ReflectionTestUtils.setField(apiClient, "queryRecheckInterval", Duration.ZERO);
+        EmployeeChanges changes = new EmployeeChanges("\"e-6\"", false, List.of());
+        ApiDataResponse<EmployeeChanges> responseBody = new ApiDataResponse<>();
+        responseBody.setData(changes);
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/changes?since={since}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<EmployeeChanges>>>any(),
+                        eq("\"e-5\"")))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenReturn(ResponseEntity.ok(responseBody));
+
+        assertNull(apiClient.getChangesSince("\"e-5\""));
+        assertTrue(apiClient.supportsChangeFeed());
+        assertSame(changes, apiClient.getChangesSince("\"e-5\""));
+    }
+
+    @Test
+    void missingChangeStreamIsReportedAsUnsupported() {
+        when(restTemplate.execute(
+                        eq(URI.create(baseUrl + "/changes/stream?since=e-5")),
+                        eq(HttpMethod.GET),
+                        any(),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        ChangeStreamListener listener = mock(ChangeStreamListener.class);
+
+        assertThrows(UnsupportedQueryException.class, () -> apiClient.streamChanges("e-5", listener));
+        verifyNoInteractions(listener);
     }
 
     @Test
@@ -167,4 +357,32 @@ class ApiClientTest {
         String result = apiClient.deleteEmployeeByName("jeff");
         assertEquals("jeff", result);
     }
+
+    @Test
+    void addEmployeesSendsWholeListInOneBatchRequest() {
+        List<EmployeeInput> inputs =
+                List.of(new EmployeeInput("jeff", 1000, 30, "Clerk"), new EmployeeInput("", 1000, 30, "Clerk"));
+        ApiDataResponse<List<BatchItemResult<Employee>>> responseBody = new ApiDataResponse<>();
+        responseBody.setData(List.of(
+                BatchItemResult.succeeded(0, new Employee("1", "jeff", 1000, 30, "Clerk", null)),
+                BatchItemResult.failed(1, "name must not be blank")));
+
+        when(restTemplate.exchange(
+                        eq(baseUrl + "/batch"),
+                        eq(HttpMethod.POST),
+                        ArgumentMatchers.<HttpEntity<?>>argThat(entity -> inputs.equals(entity.getBody())),
+                        ArgumentMatchers.<ParameterizedTypeReference<ApiDataResponse<List<BatchItemResult<Employee>>>>>
+                                any()))
+                .thenReturn(ResponseEntity.ok(responseBody));
+
+        List<BatchItemResult<Employee>> results = apiClient.addEmployees(inputs);
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        verify(restTemplate, times(1))
+                .exchange(
+                        anyString(),
+                        any(HttpMethod.class),
+                        any(HttpEntity.class),
+                        ArgumentMatchers.<ParameterizedTypeReference<Object>>any());
+    }
 }
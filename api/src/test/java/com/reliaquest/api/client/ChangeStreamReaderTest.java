@@ -0,0 +1,95 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EmployeeChange;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChangeStreamReaderTest {
+
+    @Test
+    void changeEventsAreDecodedWithTheirIds() throws IOException {
+        String body = """
+                event:change
+                id:k2x-7
+                data:{"version":7,"type":"CREATED","employee":{"id":"1","employee_name":"Alice"}}
+
+                event: change
+                id: k2x-8
+                data: {"version":8,"type":"DELETED","employee":{"id":"2","employee_name":"Bob"}}
+
+                """;
+        Recording listener = new Recording();
+
+        ChangeStreamReader.read(stream(body), listener);
+
+        assertEquals(List.of("change k2x-7 CREATED Alice", "change k2x-8 DELETED Bob"), listener.events);
+    }
+
+    @Test
+    void resyncAndHeartbeatAreReported() throws IOException {
+        String body = """
+                :heartbeat
+
+                event:resync
+                data:
+
+                """;
+        Recording listener = new Recording();
+
+        ChangeStreamReader.read(stream(body), listener);
+
+        assertEquals(List.of("heartbeat", "resync"), listener.events);
+    }
+
+    @Test
+    void unknownEventsAndIncompleteTrailingEventAreSkipped() throws IOException {
+        String body = """
+                event:other
+                data:{}
+
+                event:change
+                data:{"version":9,"type":"CREATED","employee":{"id":"3"}}
+                """;
+        Recording listener = new Recording();
+
+        ChangeStreamReader.read(stream(body), listener);
+
+        assertTrue(listener.events.isEmpty());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Recording implements ChangeStreamListener {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onOpen() {
+            events.add("open");
+        }
+
+        @Override
+        public void onChange(EmployeeChange change, String eventId) {
+            events.add("change " + eventId + " " + change.type() + " " + change.employee().getName());
+        }
+
+        @Override
+        public void onResync() {
+            events.add("resync");
+        }
+
+        @Override
+        public void onHeartbeat() {
+            events.add("heartbeat");
+        }
+    }
+}
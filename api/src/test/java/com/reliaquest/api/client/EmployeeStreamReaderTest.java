@@ -0,0 +1,68 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamReaderTest {
+
+    @Test
+    void employeesInDataArrayAreCollectedInOrder() throws IOException {
+        String body = """
+                {"status": "Successfully processed request.",
+                 "meta": {"page": [1, 2]},
+                 "data": [
+                   {"id": "1", "employee_name": "Alice", "employee_salary": 1000, "unknown": {"nested": true}},
+                   {"id": "2", "employee_name": "Bob", "employee_salary": 2000}
+                 ]}
+                """;
+
+        List<Employee> employees = EmployeeStreamReader.collect(json(body), Collectors.toList());
+
+        assertEquals(List.of("Alice", "Bob"), employees.stream().map(Employee::getName).toList());
+        assertEquals(2000, employees.get(1).getSalary());
+    }
+
+    @Test
+    void collectorIsAppliedWithoutMaterializingList() throws IOException {
+        String body = """
+                {"data": [{"employee_salary": 1000}, {"employee_salary": 3000}, {"employee_salary": 2000}]}
+                """;
+
+        Integer highest = EmployeeStreamReader.collect(
+                json(body), Collectors.reducing(0, Employee::getSalary, Integer::max));
+
+        assertEquals(3000, highest);
+    }
+
+    @Test
+    void missingOrNullDataYieldsNull() throws IOException {
+        assertNull(EmployeeStreamReader.collect(json("{\"status\": \"ok\"}"), Collectors.toList()));
+        assertNull(EmployeeStreamReader.collect(json("{\"data\": null}"), Collectors.toList()));
+    }
+
+    @Test
+    void emptyDataArrayYieldsEmptyResult() throws IOException {
+        assertTrue(EmployeeStreamReader.collect(json("{\"data\": []}"), Collectors.toList()).isEmpty());
+    }
+
+    @Test
+    void malformedEnvelopeIsRejected() {
+        assertThrows(JsonParseException.class, () -> EmployeeStreamReader.collect(json("[]"), Collectors.toList()));
+        assertThrows(
+                JsonParseException.class,
+                () -> EmployeeStreamReader.collect(json("{\"data\": [1, 2]}"), Collectors.toList()));
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+
+class OutboundRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong now;
+    private OutboundRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000 * SECOND);
+        limiter = new OutboundRateLimiter(
+                true,
+                3,
+                Duration.ofSeconds(6),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(18),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(30),
+                now::get);
+    }
+
+    @Test
+    void burstIsAdmittedImmediatelyThenPaced() {
+        assertEquals(0, limiter.reserve(now.get()));
+        assertEquals(0, limiter.reserve(now.get()));
+        assertEquals(0, limiter.reserve(now.get()));
+
+        assertEquals(6 * SECOND, limiter.reserve(now.get()));
+
+        now.addAndGet(4 * SECOND);
+        assertEquals(2 * SECOND, limiter.reserve(now.get()));
+    }
+
+    @Test
+    void rejectedReservationDoesNotConsumeSlot() {
+        for (int i = 0; i < 3; i++) {
+            limiter.reserve(now.get());
+        }
+        limiter.reserve(now.get());
+        limiter.reserve(now.get());
+
+        now.addAndGet(6 * SECOND);
+        assertEquals(0, limiter.reserve(now.get()));
+    }
+
+    @Test
+    void upstreamRejectionHoldsCallersAndSlowsRate() {
+        limiter.onRateLimited(10 * SECOND);
+
+        assertEquals(Duration.ofSeconds(12), limiter.currentInterval());
+        assertEquals(10 * SECOND, limiter.reserve(now.get()));
+
+        now.addAndGet(10 * SECOND);
+        assertEquals(0, limiter.reserve(now.get()));
+        assertEquals(1, limiter.upstreamRejectionCount());
+    }
+
+    @Test
+    void successesRecoverRateTowardsFloorButNotBeyondIt() {
+        limiter.onRateLimited(0);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.onSuccess();
+        }
+
+        assertEquals(Duration.ofSeconds(1), limiter.currentInterval());
+    }
+
+    @Test
+    void interceptFailsFastWithLocal429WhenNoSlotWithinMaxWait() throws Exception {
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse ok = mock(ClientHttpResponse.class);
+        when(ok.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(ok);
+        HttpRequest request = mock(HttpRequest.class);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.intercept(request, new byte[0], execution);
+        }
+        HttpClientErrorException ex = assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> limiter.intercept(request, new byte[0], execution));
+
+        assertNotNull(ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(execution, times(3)).execute(any(), any());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    void reservedCallSendsItsFirstRequestOnTheReservedSlot() throws Exception {
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse ok = mock(ClientHttpResponse.class);
+        when(ok.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(ok);
+        HttpRequest request = mock(HttpRequest.class);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.reserveForLater("test"));
+        }
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> limiter.reserveForLater("test"));
+        assertEquals(1, limiter.rejectedCount());
+
+        limiter.callReserved(() -> {
+            try {
+                limiter.intercept(request, new byte[0], execution);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            assertThrows(
+                    HttpClientErrorException.TooManyRequests.class,
+                    () -> limiter.intercept(request, new byte[0], execution));
+            return null;
+        });
+
+        verify(execution, times(1)).execute(any(), any());
+        assertEquals(2, limiter.rejectedCount());
+    }
+
+    @Test
+    void notModifiedResponsesDoNotUseUpSlots() throws Exception {
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse notModified = mock(ClientHttpResponse.class);
+        when(notModified.getStatusCode()).thenReturn(HttpStatus.NOT_MODIFIED);
+        when(execution.execute(any(), any())).thenReturn(notModified);
+        HttpRequest request = mock(HttpRequest.class);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.intercept(request, new byte[0], execution);
+        }
+
+        verify(execution, times(10)).execute(any(), any());
+        assertEquals(0, limiter.rejectedCount());
+        assertEquals(0, limiter.reserve(now.get()));
+    }
+
+    @Test
+    void interceptLearnsRetryAfterFromUpstream429() throws Exception {
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        ClientHttpResponse tooManyRequests = mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "40");
+        when(tooManyRequests.getStatusCode()).thenReturn(HttpStatus.TOO_MANY_REQUESTS);
+        when(tooManyRequests.getHeaders()).thenReturn(headers);
+        when(execution.execute(any(), any())).thenReturn(tooManyRequests);
+
+        limiter.intercept(mock(HttpRequest.class), new byte[0], execution);
+
+        assertEquals(40 * SECOND, limiter.reserve(now.get()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersForSameKeyShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers("all", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "roster";
+        });
+        awaitCoalesced(WAITERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("roster", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void failureIsDeliveredToEveryWaiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers("all", () -> {
+            await(release);
+            throw new IllegalStateException("upstream failed");
+        });
+        awaitCoalesced(WAITERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void distinctKeysExecuteIndependently() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute("1", () -> executions.incrementAndGet() + ""));
+        assertEquals("2", singleFlight.execute("2", () -> executions.incrementAndGet() + ""));
+        assertEquals(2, executions.get());
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+
+    private List<Future<String>> startCallers(String key, Supplier<String> call) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        results.add(executor.submit(() -> singleFlight.execute(key, () -> {
+            leaderStarted.countDown();
+            return call.get();
+        })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, call)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, singleFlight.coalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.annotation.Recover;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ApiRetryInterceptorTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Upstream upstream;
+    private Upstream proxy;
+
+    @BeforeEach
+    void setUp() {
+        ApiRetryPolicy retryPolicy = new ApiRetryPolicy(
+                3,
+                Duration.ofSeconds(3),
+                2,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(30),
+                () -> 1.0,
+                Clock.systemUTC(),
+                meterRegistry);
+        upstream = new Upstream();
+        ProxyFactory proxyFactory = new ProxyFactory(upstream);
+        proxyFactory.addAdvice(new ApiRetryInterceptor(retryPolicy, sleeps::add));
+        proxy = (Upstream) proxyFactory.getProxy();
+    }
+
+    @Test
+    void waitsForAdvertisedRetryAfterBetweenAttempts() {
+        upstream.failuresBeforeSuccess = 2;
+
+        assertEquals("ok", proxy.name());
+        assertEquals(3, upstream.calls.get());
+        assertEquals(List.of(2_000L, 2_000L), sleeps);
+    }
+
+    @Test
+    void exhaustedRetriesRecoverThroughRecoverMethod() {
+        upstream.failuresBeforeSuccess = Integer.MAX_VALUE;
+
+        assertEquals("recovered", proxy.name());
+        assertEquals(3, upstream.calls.get());
+        assertEquals(2, meterRegistry.get("api.retry.retries").counter().count());
+        assertEquals(1, meterRegistry.get("api.retry.recovered").counter().count());
+    }
+
+    @Test
+    void exhaustedRetriesWithoutMatchingRecoverMethodThrow() {
+        upstream.failuresBeforeSuccess = Integer.MAX_VALUE;
+
+        assertThrows(ExhaustedRetryException.class, () -> proxy.names());
+        assertNull(meterRegistry.find("api.retry.recovered").counter());
+    }
+
+    @Test
+    void otherFailuresPropagateWithoutRetry() {
+        upstream.failure = new IllegalStateException("boom");
+
+        assertThrows(IllegalStateException.class, () -> proxy.name());
+        assertEquals(1, upstream.calls.get());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    static class Upstream {
+
+        final AtomicInteger calls = new AtomicInteger();
+        int failuresBeforeSuccess;
+        RuntimeException failure;
+
+        public String name() {
+            if (failure != null) {
+                calls.incrementAndGet();
+                throw failure;
+            }
+            if (calls.incrementAndGet() <= failuresBeforeSuccess) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.set(HttpHeaders.RETRY_AFTER, "2");
+                throw HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], null);
+            }
+            return "ok";
+        }
+
+        public List<String> names() {
+            return List.of(name());
+        }
+
+        @Recover
+        public String recover(HttpClientErrorException.TooManyRequests ex) {
+            return "recovered";
+        }
+    }
+}
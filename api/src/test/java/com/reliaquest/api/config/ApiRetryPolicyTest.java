@@ -0,0 +1,102 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ApiRetryPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private double jitter;
+    private ApiRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jitter = 0.5;
+        retryPolicy = new ApiRetryPolicy(
+                4,
+                Duration.ofSeconds(2),
+                2,
+                Duration.ofSeconds(6),
+                Duration.ofSeconds(20),
+                () -> jitter,
+                Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC),
+                meterRegistry);
+    }
+
+    @Test
+    void retryAfterIsHonouredExactly() {
+        assertEquals(
+                Optional.of(Duration.ofSeconds(7)),
+                retryPolicy.nextDelay(1, tooManyRequests("7", null), Duration.ZERO));
+    }
+
+    @Test
+    void rateLimitResetIsUsedWithoutRetryAfter() {
+        assertEquals(
+                Optional.of(Duration.ofSeconds(4)),
+                retryPolicy.nextDelay(1, tooManyRequests(null, "4"), Duration.ZERO));
+    }
+
+    @Test
+    void withoutHintBackoffIsExponentialWithEqualJitterAndCapped() {
+        jitter = 0;
+        assertEquals(Duration.ofSeconds(1), retryPolicy.nextDelay(1, tooManyRequests(null, null), Duration.ZERO).get());
+        jitter = 1;
+        assertEquals(Duration.ofSeconds(4), retryPolicy.nextDelay(2, tooManyRequests(null, null), Duration.ZERO).get());
+        assertEquals(Duration.ofSeconds(6), retryPolicy.nextDelay(3, tooManyRequests(null, null), Duration.ZERO).get());
+    }
+
+    @Test
+    void givesUpWhenNextWaitWouldPassDeadline() {
+        assertTrue(retryPolicy.nextDelay(1, tooManyRequests("21", null), Duration.ZERO).isEmpty());
+        assertTrue(retryPolicy.nextDelay(2, tooManyRequests("5", null), Duration.ofSeconds(16)).isEmpty());
+        assertTrue(retryPolicy.nextDelay(2, tooManyRequests("5", null), Duration.ofSeconds(15)).isPresent());
+    }
+
+    @Test
+    void onlyRateLimitedAttemptsWithinMaxAttemptsAreRetried() {
+        assertTrue(retryPolicy.nextDelay(4, tooManyRequests("1", null), Duration.ZERO).isEmpty());
+        assertTrue(retryPolicy.nextDelay(1, new IllegalStateException("boom"), Duration.ZERO).isEmpty());
+    }
+
+    @Test
+    void recordsAttemptsAndTotalWaitPerCall() {
+        retryPolicy.record("getAllEmployees", 3, Duration.ofSeconds(9), ApiRetryPolicy.Outcome.EXHAUSTED);
+
+        assertEquals(
+                3,
+                meterRegistry
+                        .get("api.retry.attempts")
+                        .tag("operation", "getAllEmployees")
+                        .summary()
+                        .totalAmount());
+        assertEquals(9, meterRegistry.get("api.retry.wait").timer().totalTime(TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("api.retry.exhausted").counter().count());
+        assertEquals(2, meterRegistry.get("api.retry.retries").counter().count());
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter, String reset) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        if (reset != null) {
+            headers.set(ApiRetryPolicy.RATE_LIMIT_RESET_HEADER, reset);
+        }
+        return HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class MetricsConfigTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void employeeCacheSizeAndLookupsAreReported() {
+        EmployeeCache employeeCache = new EmployeeCache(10, TTL, TTL);
+        metricsConfig.employeeCacheMetrics(employeeCache).bindTo(meterRegistry);
+
+        employeeCache.put(new Employee("1", "Alice", 1000, 30, "Engineer", "alice@company.com"));
+        employeeCache.get("1", id -> null);
+        employeeCache.get("2", id -> null);
+        employeeCache.get("2", id -> null);
+
+        assertEquals(2, meterRegistry.get("cache.size").tag("cache", "employee").gauge().value());
+        assertEquals(1, gets("employee", "hit"));
+        assertEquals(1, gets("employee", "negative_hit"));
+        assertEquals(1, gets("employee", "miss"));
+    }
+
+    @Test
+    void emptyRosterCacheReportsZeroSize() {
+        metricsConfig.rosterCacheMetrics(new RosterCache(mock(ApiClient.class), TTL, 0)).bindTo(meterRegistry);
+
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "roster").gauge().value());
+        assertEquals(0, gets("roster", "miss"));
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry
+                .get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.OutboundRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ScheduledRetryTest {
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledRetry scheduledRetry;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduledRetry = new ScheduledRetry(Runnable::run, scheduler, retryPolicy(10), unlimited());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void rateLimitedAttemptsAreRescheduledUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduledRetry.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw tooManyRequests();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void exhaustedRetriesCompleteWithExhaustedRetryException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduledRetry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw tooManyRequests();
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ExhaustedRetryException.class, ex.getCause());
+        assertInstanceOf(HttpClientErrorException.TooManyRequests.class, ex.getCause().getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduledRetry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void backoffDoesNotBlockTheCaller() {
+        ScheduledRetry slowRetry = new ScheduledRetry(Runnable::run, scheduler, retryPolicy(60_000), unlimited());
+
+        CompletableFuture<String> result = slowRetry.execute("test", () -> {
+            throw tooManyRequests();
+        });
+
+        assertFalse(result.isDone());
+        result.cancel(true);
+    }
+
+    @Test
+    void advertisedRetryAfterBeyondDeadlineGivesUpWithoutWaiting() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduledRetry.execute("test", () -> {
+            attempts.incrementAndGet();
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "3600");
+            throw HttpClientErrorException.create(
+                    HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, new byte[0], null);
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ExhaustedRetryException.class, ex.getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void attemptsWaitForTheirRateLimitSlotOnTheTimer() throws Exception {
+        OutboundRateLimiter limiter = new OutboundRateLimiter(
+                true,
+                1,
+                Duration.ofMillis(200),
+                Duration.ofMillis(200),
+                Duration.ofMillis(200),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(30));
+        ScheduledRetry paced = new ScheduledRetry(Runnable::run, scheduler, retryPolicy(10), limiter);
+
+        assertEquals("first", paced.execute("test", () -> "first").getNow(null));
+        CompletableFuture<Thread> second = paced.execute("test", Thread::currentThread);
+
+        assertFalse(second.isDone());
+        assertNotSame(Thread.currentThread(), second.get(5, TimeUnit.SECONDS));
+    }
+
+    private static OutboundRateLimiter unlimited() {
+        return new OutboundRateLimiter(
+                false,
+                1,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1),
+                Duration.ZERO,
+                Duration.ofSeconds(30));
+    }
+
+    private static ApiRetryPolicy retryPolicy(long initialDelayMillis) {
+        return new ApiRetryPolicy(
+                3,
+                Duration.ofMillis(initialDelayMillis),
+                2,
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(10),
+                () -> 1.0,
+                Clock.systemUTC(),
+                new SimpleMeterRegistry());
+    }
+
+    private static HttpClientErrorException tooManyRequests() {
+        return HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", new HttpHeaders(), new byte[0], null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.ExhaustedRetryException;
+
+public class AsyncEmployeeControllerTest {
+    @Mock
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @InjectMocks
+    private AsyncEmployeeController asyncEmployeeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getAllEmployeesReturnsOkWhenEmployeesExist() {
+        List<Employee> mockEmployees = List.of(new Employee("1", "chad", 50, 74, "Beans Engineer", "chad@hotmail.com"));
+        when(asyncEmployeeService.getAll()).thenReturn(CompletableFuture.completedFuture(mockEmployees));
+
+        ResponseEntity<List<Employee>> response = asyncEmployeeController.getAllEmployees().join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    void getEmployeeByIdReturnsTooManyRequestsWhenRetriesExhausted() {
+        when(asyncEmployeeService.getEmployeeById("1"))
+                .thenReturn(CompletableFuture.failedFuture(new ExhaustedRetryException("Max retry attempts reached.")));
+
+        ResponseEntity<Employee> response = asyncEmployeeController.getEmployeeById("1").join();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+    }
+
+    @Test
+    void getHighestSalaryReturnsInternalServerErrorWhenRosterUnavailable() {
+        when(asyncEmployeeService.getHighestSalaryOfEmployees())
+                .thenReturn(
+                        CompletableFuture.failedFuture(new IllegalStateException("Employee roster is unavailable.")));
+
+        ResponseEntity<Integer> response = asyncEmployeeController.getHighestSalaryOfEmployees().join();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+}
@@ -2,9 +2,12 @@ package com.reliaquest.api.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.client.ApiClient;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +43,31 @@ public class EmployeeControllerTest {
         assertEquals(1, response.getBody().size());
     }
 
+    @Test
+    void getEmployeesPagePassesNextCursorThrough() {
+        List<Employee> mockEmployees = List.of(new Employee("1", "chad", 50, 74, "Beans Engineer", "chad@hotmail.com"));
+        when(employeeService.getEmployeesPage(1, null)).thenReturn(new EmployeePage(mockEmployees, "next"));
+        when(employeeService.getEmployeesPage(1, "next")).thenReturn(new EmployeePage(List.of(), null));
+
+        ResponseEntity<List<Employee>> first = employeeController.getEmployeesPage(1, null);
+        ResponseEntity<List<Employee>> last = employeeController.getEmployeesPage(1, "next");
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("next", first.getHeaders().getFirst(ApiClient.NEXT_CURSOR_HEADER));
+        assertEquals(HttpStatus.OK, last.getStatusCode());
+        assertNull(last.getHeaders().getFirst(ApiClient.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getEmployeesPageReturnsBadRequestForInvalidCursor() {
+        when(employeeService.getEmployeesPage(1, "bogus"))
+                .thenThrow(new IllegalArgumentException("Invalid page cursor."));
+
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesPage(1, "bogus");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void getAllEmployeesShouldReturnNoContentWhenEmployeeListIsEmpty() {
 
@@ -1,17 +1,29 @@
 package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.UnsupportedQueryException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.ConditionalResponse;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @SpringBootTest
 class EmployeeServiceTest {
@@ -22,7 +34,10 @@ class EmployeeServiceTest {
     @BeforeEach
     void setUp() {
         apiClient = mock(ApiClient.class);
-        employeeService = new EmployeeService(apiClient);
+        employeeService = new EmployeeService(
+                apiClient,
+                new RosterCache(apiClient, Duration.ofSeconds(30), 0),
+                new EmployeeCache(100, Duration.ofSeconds(30), Duration.ofSeconds(5)));
     }
 
     @Test
@@ -30,20 +45,32 @@ class EmployeeServiceTest {
         List<Employee> employees = Arrays.asList(
                 new Employee("1", "Alice", 1000, 18, "Software Engineer", "alice@gmail.com"),
                 new Employee("2", "Bob", 2000, 19, "Mechanic", "bob@hotmail.com"));
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(employees));
 
         List<Employee> result = employeeService.getAll();
         assertEquals(2, result.size());
         assertEquals("Alice", result.get(0).getName());
     }
 
+    @Test
+    void testGetAll_ServedFromCacheOnRepeatedCalls() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(new Employee("1", "Alice", 1000, null, null, null))));
+
+        employeeService.getAll();
+        employeeService.getEmployeesByNameSearch("ali");
+        employeeService.getHighestSalaryOfEmployees();
+
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
     @Test
     void testGetEmployeesByNameSearch() {
         List<Employee> employees = Arrays.asList(
                 new Employee("1", "Alice", 1000, null, null, null),
                 new Employee("2", "Bob", 2000, null, null, null),
                 new Employee("3", "Alicia", 1500, null, null, null));
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(employees));
 
         List<Employee> result = employeeService.getEmployeesByNameSearch("ali");
         assertEquals(2, result.size());
@@ -53,7 +80,7 @@ class EmployeeServiceTest {
 
     @Test
     void testGetEmployeesByNameSearch_NullList() {
-        when(apiClient.getAllEmployees()).thenReturn(null);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenReturn(null);
         assertNull(employeeService.getEmployeesByNameSearch("test"));
     }
 
@@ -67,13 +94,37 @@ class EmployeeServiceTest {
         assertEquals("Alice", result.getName());
     }
 
+    @Test
+    void testGetEmployeeById_RepeatedLookupsServedFromCache() {
+        when(apiClient.getEmployeeById("1")).thenReturn(new Employee("1", "Alice", 1000, null, null, null));
+        when(apiClient.getEmployeeById("99")).thenReturn(null);
+
+        employeeService.getEmployeeById("1");
+        employeeService.getEmployeeById("1");
+        employeeService.getEmployeeById("99");
+        assertNull(employeeService.getEmployeeById("99"));
+
+        verify(apiClient, times(1)).getEmployeeById("1");
+        verify(apiClient, times(1)).getEmployeeById("99");
+    }
+
+    @Test
+    void testGetEmployeeById_ResolvedFromCachedRoster() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(new Employee("1", "Alice", 1000, null, null, null))));
+        employeeService.getAll();
+
+        assertEquals("Alice", employeeService.getEmployeeById("1").getName());
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
     @Test
     void testGetHighestSalaryOfEmployees() {
         List<Employee> employees = Arrays.asList(
                 new Employee("1", "Alice", 1000, 0, null, null),
                 new Employee("2", "Bob", 3000, 0, null, null),
                 new Employee("3", "Charlie", 2000, 0, null, null));
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(employees));
 
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertEquals(3000, highestSalary);
@@ -81,10 +132,26 @@ class EmployeeServiceTest {
 
     @Test
     void testGetHighestSalaryOfEmployees_EmptyList() {
-        when(apiClient.getAllEmployees()).thenReturn(Collections.emptyList());
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(Collections.emptyList()));
         assertNull(employeeService.getHighestSalaryOfEmployees());
     }
 
+    @Test
+    void testGetHighestSalaryOfEmployees_IgnoresMissingSalaries() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Alice", null, 0, null, null), new Employee("2", "Bob", 3000, 0, null, null));
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(employees));
+
+        assertEquals(3000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob"), employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    void testGetHighestSalaryOfEmployees_RosterUnavailable() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenReturn(null);
+        assertThrows(IllegalStateException.class, () -> employeeService.getHighestSalaryOfEmployees());
+    }
+
     @Test
     void testGetTopTenHighestEarningEmployeeNames() {
         List<Employee> employees = Arrays.asList(
@@ -99,13 +166,53 @@ class EmployeeServiceTest {
                 new Employee("9", "Ivan", 800, null, null, null),
                 new Employee("10", "Judy", 900, null, null, null),
                 new Employee("11", "Mallory", 600, null, null, null));
-        when(apiClient.getAllEmployees()).thenReturn(employees);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(collecting(employees));
 
         List<String> topTen = employeeService.getTopTenHighestEarningEmployeeNames();
         assertEquals(10, topTen.size());
         assertFalse(topTen.contains("Heidi"));
     }
 
+    @Test
+    void testAggregateQueries_AnsweredUpstreamWhileRosterLoadsInBackground() {
+        CountDownLatch answered = new CountDownLatch(1);
+        when(apiClient.supportsQueries()).thenReturn(true);
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenAnswer(invocation -> {
+            answered.await();
+            return collecting(List.of(new Employee("4", "David", 4000, null, null, null))).answer(invocation);
+        });
+        when(apiClient.getHighestSalary()).thenReturn(4000);
+        when(apiClient.getTopEarners(10))
+                .thenReturn(List.of(
+                        new Employee("4", "David", 4000, null, null, null),
+                        new Employee("2", "Bob", 3000, null, null, null)));
+        when(apiClient.searchEmployeesByName("ali"))
+                .thenReturn(List.of(new Employee("1", "Alice", 1000, null, null, null)));
+
+        assertEquals(4000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("David", "Bob"), employeeService.getTopTenHighestEarningEmployeeNames());
+        assertEquals(1, employeeService.getEmployeesByNameSearch("ali").size());
+        answered.countDown();
+
+        verify(apiClient, timeout(1000).times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
+    @Test
+    void testAggregateQueries_FallBackToRosterWhenUnsupportedUpstream() {
+        when(apiClient.supportsQueries()).thenReturn(true);
+        when(apiClient.getHighestSalary()).thenThrow(new UnsupportedQueryException("highest salary"));
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(
+                        new Employee("1", "Alice", 1000, null, null, null),
+                        new Employee("2", "Bob", 3000, null, null, null))));
+
+        assertEquals(3000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob", "Alice"), employeeService.getTopTenHighestEarningEmployeeNames());
+
+        verify(apiClient, never()).getTopEarners(anyInt());
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
     @Test
     void testCreateEmployee() {
         EmployeeInput input = new EmployeeInput("Sam", 1500, 23, "Babysitter");
@@ -117,6 +224,26 @@ class EmployeeServiceTest {
         assertEquals("Sam", result.getName());
     }
 
+    @Test
+    void testCreateAndDeleteEmployee_UpdateSalaryQueriesWithoutRefetch() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(new Employee("1", "Alice", 1000, null, null, null))));
+        EmployeeInput input = new EmployeeInput("Sam", 9000, 23, "Babysitter");
+        Employee sam = new Employee("12", "Sam", 9000, 23, "Babysitter", "sam@boa.com");
+        when(apiClient.addEmployee(input)).thenReturn(sam);
+        when(apiClient.getEmployeeById("12")).thenReturn(sam);
+        when(apiClient.deleteEmployeeByName("Sam")).thenReturn("Sam");
+
+        assertEquals(1000, employeeService.getHighestSalaryOfEmployees());
+        employeeService.createEmployee(input);
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Sam", "Alice"), employeeService.getTopTenHighestEarningEmployeeNames());
+        employeeService.deleteEmployeeById("12");
+        assertEquals(1000, employeeService.getHighestSalaryOfEmployees());
+
+        verify(apiClient, times(1)).getAllEmployeesIfModified(any(), any());
+    }
+
     @Test
     void testDeleteEmployeeByIdSuccess() {
         Employee employee = new Employee("1", "Alice", 1000, null, null, null);
@@ -127,6 +254,85 @@ class EmployeeServiceTest {
         assertEquals("Alice", result);
     }
 
+    @Test
+    void testDeleteEmployeeById_CachedEmployeeSkipsLookup() {
+        EmployeeInput input = new EmployeeInput("Sam", 1500, 23, "Babysitter");
+        when(apiClient.addEmployee(input)).thenReturn(new Employee("12", "Sam", 1500, 23, "Babysitter", null));
+        when(apiClient.deleteEmployeeByName("Sam")).thenReturn("Sam");
+
+        employeeService.createEmployee(input);
+        assertEquals("Sam", employeeService.deleteEmployeeById("12"));
+
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void testCreateEmployees_SplitsIntoBatchesAndReportsPerItem() {
+        ReflectionTestUtils.setField(employeeService, "batchSize", 2);
+        EmployeeInput sam = new EmployeeInput("Sam", 1500, 23, "Babysitter");
+        EmployeeInput blank = new EmployeeInput("", 1500, 23, "Babysitter");
+        EmployeeInput kim = new EmployeeInput("Kim", 2500, 31, "Pilot");
+        when(apiClient.addEmployees(List.of(sam, blank)))
+                .thenReturn(List.of(
+                        BatchItemResult.succeeded(0, new Employee("12", "Sam", 1500, 23, "Babysitter", null)),
+                        BatchItemResult.failed(1, "name must not be blank")));
+        when(apiClient.addEmployees(List.of(kim))).thenReturn(null);
+
+        List<BatchItemResult<Employee>> results = employeeService.createEmployees(List.of(sam, blank, kim));
+
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchItemResult::getIndex).toList());
+        assertEquals(List.of(true, false, false), results.stream().map(BatchItemResult::isSuccess).toList());
+        assertEquals("Sam", employeeService.getEmployeeById("12").getName());
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void testDeleteEmployeesById_ResolvesIdsFromRosterAndDeletesInOneBatch() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(
+                        new Employee("1", "Alice", 1000, null, null, null),
+                        new Employee("2", "Bob", 3000, null, null, null))));
+        when(apiClient.deleteEmployeesByName(List.of("Bob", "Alice")))
+                .thenReturn(List.of(
+                        BatchItemResult.succeeded(0, new Employee("2", "Bob", 3000, null, null, null)),
+                        BatchItemResult.succeeded(1, new Employee("1", "Alice", 1000, null, null, null))));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("2", "99", "1"));
+
+        assertEquals("Bob", results.get(0).getData());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Alice", results.get(2).getData());
+        assertEquals(2, results.get(2).getIndex());
+        assertTrue(employeeService.getAll().isEmpty());
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void testDeleteEmployeesById_FailsWithoutRosterBeforeDeleting() {
+        when(apiClient.getAllEmployeesIfModified(any(), any())).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> employeeService.deleteEmployeesById(List.of("1", "2")));
+
+        verify(apiClient, never()).getEmployeeById(any());
+        verify(apiClient, never()).deleteEmployeesByName(any());
+    }
+
+    @Test
+    void testDeleteEmployeesById_ReportsOtherEmployeeDeletedUnderSharedName() {
+        when(apiClient.getAllEmployeesIfModified(any(), any()))
+                .thenAnswer(collecting(List.of(
+                        new Employee("1", "Alice", 1000, null, null, null),
+                        new Employee("2", "Alice", 3000, null, null, null))));
+        when(apiClient.deleteEmployeesByName(List.of("Alice")))
+                .thenReturn(List.of(BatchItemResult.succeeded(0, new Employee("1", "Alice", 1000, null, null, null))));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("2"));
+
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).getError().contains("id 1"));
+        assertEquals(List.of("2"), employeeService.getAll().stream().map(Employee::getId).toList());
+    }
+
     @Test
     void testDeleteEmployeeByIdNotFound() {
         when(apiClient.getEmployeeById("99")).thenReturn(null);
@@ -134,4 +340,10 @@ class EmployeeServiceTest {
         String result = employeeService.deleteEmployeeById("99");
         assertNull(result);
     }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<Object> collecting(List<Employee> employees) {
+        return invocation -> ConditionalResponse.modified(
+                employees.stream().collect((Collector<Employee, Object, Object>) invocation.getArgument(0)), null);
+    }
 }
@@ -0,0 +1,84 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.ConditionalResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The roster queries of {@link EmployeeService}, answered from a cached roster as in steady state. The roster is
+ * loaded once per trial through a stand-in client and its TTL outlasts the run, so no refresh is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    private static final Duration TTL = Duration.ofDays(1);
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private EmployeeService employeeService;
+    private String searchString;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = Rosters.employees(rows);
+        ApiClient apiClient = new RosterApiClient(employees);
+        RosterCache rosterCache = new RosterCache(apiClient, TTL, 0);
+        employeeService = new EmployeeService(apiClient, rosterCache, new EmployeeCache(10_000, TTL, TTL));
+        rosterCache.getRoster();
+        // Part of a last name: matches a handful of employees anywhere in the roster.
+        String name = employees.get(rows / 2).getName();
+        String lastName = name.substring(name.lastIndexOf(' ') + 1);
+        searchString = lastName.substring(0, Math.min(3, lastName.length()));
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<Employee> employeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @Benchmark
+    public Integer highestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    /*
+     * Serves the roster load from memory instead of the mock server.
+     */
+    private static final class RosterApiClient extends ApiClient {
+
+        private final List<Employee> employees;
+
+        private RosterApiClient(List<Employee> employees) {
+            super(null);
+            this.employees = employees;
+        }
+
+        @Override
+        public <R> ConditionalResponse<R> getAllEmployeesIfModified(Collector<Employee, ?, R> collector, String eTag) {
+            return ConditionalResponse.modified(employees.stream().collect(collector), null);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Both ends of the employee wire format, with the object mapper Spring configures for the applications: the server
+ * writing {@link MockEmployee} through its prefix naming strategy, and the api reading and writing {@link Employee}.
+ * {@link MockEmployee} is only ever written, so reading it back is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    /*
+     * A single employee, and a full default page.
+     */
+    @Param({"1", "1000"})
+    private int rows;
+
+    private ObjectWriter writer;
+    private ObjectReader employeesReader;
+    private List<MockEmployee> mockEmployees;
+    private List<Employee> employees;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        employeesReader = objectMapper.readerForListOf(Employee.class);
+        mockEmployees = Rosters.mockEmployees(rows);
+        employees = mockEmployees.stream().map(Rosters::employee).toList();
+        json = writer.writeValueAsBytes(mockEmployees);
+    }
+
+    @Benchmark
+    public byte[] serializeMockEmployees() throws IOException {
+        return writer.writeValueAsBytes(mockEmployees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployees() throws IOException {
+        return employeesReader.readValue(json);
+    }
+}
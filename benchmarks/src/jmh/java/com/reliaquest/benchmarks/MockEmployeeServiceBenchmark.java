@@ -0,0 +1,105 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.HeapMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Single-employee lookups and deletes on the mock server, against either store. The change log is attached as in the
+ * running server, so a delete includes recording it; the journal is left out, its cost being disk rather than code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"heap", "columnar"})
+    private String store;
+
+    private MockEmployeeStore mockEmployeeStore;
+    private MockEmployeeService mockEmployeeService;
+    private List<MockEmployee> employees;
+    private DeleteMockEmployeeInput[] deletes;
+    private int next;
+
+    /*
+     * Generated names repeat, and deleting by name removes the earliest namesake, which need not be the employee
+     * restored afterwards. Suffixing each name with its index makes every delete remove the employee it names.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        List<MockEmployee> generated = Rosters.mockEmployees(rows);
+        employees = new ArrayList<>(rows);
+        deletes = new DeleteMockEmployeeInput[rows];
+        for (int i = 0; i < rows; i++) {
+            MockEmployee employee = generated.get(i);
+            employees.add(employee.toBuilder().name(employee.getName() + " " + i).build());
+            deletes[i] = new DeleteMockEmployeeInput();
+            deletes[i].setName(employees.get(i).getName());
+        }
+    }
+
+    /*
+     * A fresh store for every iteration: a restore appends the employee anew, so each iteration would otherwise
+     * start from the removed rows the previous ones left behind.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        mockEmployeeStore = "columnar".equals(store) ? new ColumnarMockEmployeeStore() : new HeapMockEmployeeStore();
+        mockEmployeeStore.addAll(employees);
+        MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(10_000);
+        changeLog.startAt(mockEmployeeStore.version());
+        mockEmployeeStore.setMutationLog(changeLog);
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(),
+                mockEmployeeStore,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                changeLog);
+        next = 0;
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(employees.get(nextIndex()).getId());
+    }
+
+    /*
+     * Each delete is followed by adding the same employee back, so the roster keeps its size throughout the run. In
+     * the columnar store the removed rows pile up until it compacts them, which is part of the measured cost.
+     */
+    @Benchmark
+    public boolean deleteAndRestore() {
+        int index = nextIndex();
+        boolean deleted = mockEmployeeService.delete(deletes[index]);
+        mockEmployeeStore.add(employees.get(index));
+        return deleted;
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == rows ? 0 : index + 1;
+        return index;
+    }
+}
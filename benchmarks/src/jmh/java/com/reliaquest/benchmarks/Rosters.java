@@ -0,0 +1,38 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.config.SeededEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Reproducible rosters for the benchmarks, from the generator the mock server seeds itself with, so every run and
+ * every benchmark sees the same employees.
+ */
+final class Rosters {
+
+    static final long SEED = 42L;
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int rows) {
+        return new SeededEmployeeGenerator(SEED).generate(0, rows);
+    }
+
+    static List<Employee> employees(int rows) {
+        return mockEmployees(rows).stream().map(Rosters::employee).toList();
+    }
+
+    /*
+     * The api's view of a server row, as the api would decode it off the wire.
+     */
+    static Employee employee(MockEmployee mockEmployee) {
+        return new Employee(
+                mockEmployee.getId().toString(),
+                mockEmployee.getName(),
+                mockEmployee.getSalary(),
+                mockEmployee.getAge(),
+                mockEmployee.getTitle(),
+                mockEmployee.getEmail());
+    }
+}
@@ -0,0 +1,458 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * End-to-end load test of the api in front of the mock server. Boots {@link ServerApplication} and
+ * {@link ApiApplication} in this JVM on ephemeral ports, each with its own {@code application.yml}, then has
+ * {@code concurrency} clients send a weighted mix of list, search, by-id, create and delete requests to the api,
+ * each sending its next request as soon as the previous one is answered. Nothing is recorded during the warmup.
+ *
+ * <p>Reports throughput, latency percentiles and status counts per operation and overall, the 429s the api answered
+ * with, and, counted inside the api, its upstream requests, the 429s among them and the retries it made. Run through
+ * Gradle: {@code ./gradlew benchmarks:loadTest [-PloadTestDuration=30s] [-PloadTestWarmup=5s]
+ * [-PloadTestConcurrency=32] [-PloadTestMix=list:20,search:30,byId:40,create:5,delete:5] [-PloadTestEmployees=1000]
+ * [-PloadTestRateLimit=true]}. Results are written to {@code benchmarks/build/load-test/results.json}.
+ *
+ * <p>Deletes only remove employees this run created, so the roster the reads see stays intact; a delete with none
+ * left to remove is skipped and not counted.
+ */
+public final class LoadTest {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+    private static final String DEFAULT_MIX = "list:20,search:30,byId:40,create:5,delete:5";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "5s"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Map<Operation, Integer> mix = mix(options.getOrDefault("mix", DEFAULT_MIX));
+        int employees = Integer.parseInt(options.getOrDefault("employees", "1000"));
+        boolean rateLimit = Boolean.parseBoolean(options.getOrDefault("rateLimit", "true"));
+        Path output = Path.of(options.getOrDefault("output", "build/load-test/results.json"));
+
+        try (ConfigurableApplicationContext server = start(
+                        ServerApplication.class,
+                        options.get("serverConfig"),
+                        "--mock.employees.max=" + employees,
+                        "--mock.rate-limit.enabled=" + rateLimit);
+                ConfigurableApplicationContext api = start(
+                        ApiApplication.class,
+                        options.get("apiConfig"),
+                        "--external.api.base-url=http://localhost:" + port(server) + EMPLOYEE_PATH)) {
+            UpstreamCounter upstream = new UpstreamCounter();
+            api.getBean(RestTemplate.class).getInterceptors().add(0, upstream);
+            MeterRegistry apiMetrics = api.getBean(MeterRegistry.class);
+            HttpClient client =
+                    HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            Workload workload = Workload.prepare(client, URI.create("http://localhost:" + port(api) + EMPLOYEE_PATH));
+
+            long startedAt = System.nanoTime();
+            long measuredFrom = startedAt + warmup.toNanos();
+            long endsAt = measuredFrom + duration.toNanos();
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            List<Future<Samples>> running = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                long seed = worker;
+                running.add(workers.submit(() -> workload.run(mix, new SplittableRandom(seed), measuredFrom, endsAt)));
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measuredFrom - System.nanoTime()));
+            Totals before = Totals.of(upstream, apiMetrics);
+            Samples samples = new Samples();
+            for (Future<Samples> worker : running) {
+                samples.add(worker.get());
+            }
+            Totals after = Totals.of(upstream, apiMetrics);
+            workers.shutdown();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("javaVersion", Runtime.version().toString());
+            result.put("durationSeconds", duration.toMillis() / 1000.0);
+            result.put("warmupSeconds", warmup.toMillis() / 1000.0);
+            result.put("concurrency", concurrency);
+            result.put("employees", employees);
+            result.put("serverRateLimit", rateLimit);
+            result.put("mix", mix);
+            result.putAll(samples.summary(null, duration));
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (Operation operation : mix.keySet()) {
+                operations.put(operation.key, samples.summary(operation, duration));
+            }
+            result.put("operations", operations);
+            result.put("upstream", after.minus(before).summary());
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+            System.out.println(OBJECT_MAPPER.writeValueAsString(result));
+        }
+    }
+
+    /*
+     * Command-line arguments rather than builder properties: these take precedence over the application's own
+     * configuration file, which replaces the default locations so the two applications do not share one.
+     */
+    private static ConfigurableApplicationContext start(Class<?> application, String config, String... overrides) {
+        List<String> args = new ArrayList<>();
+        if (config != null) {
+            args.add("--spring.config.location=file:" + config);
+        }
+        args.add("--server.port=0");
+        args.add("--logging.level.com.reliaquest=WARN");
+        args.addAll(Arrays.asList(overrides));
+        return new SpringApplicationBuilder(application).run(args.toArray(String[]::new));
+    }
+
+    private static String port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.of(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight.");
+        }
+        return mix;
+    }
+
+    private enum Operation {
+        LIST("list"),
+        SEARCH("search"),
+        BY_ID("byId"),
+        CREATE("create"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+        }
+    }
+
+    /*
+     * The requests to send. Ids and names come from the roster as the api lists it before the run.
+     */
+    private static final class Workload {
+
+        private static final String CREATE_BODY =
+                "{\"name\":\"Load Test %d\",\"salary\":%d,\"age\":%d,\"title\":\"Load Tester\"}";
+
+        private final HttpClient client;
+        private final URI base;
+        private final List<String> ids;
+        private final List<String> searchStrings;
+        private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+
+        private Workload(HttpClient client, URI base, List<String> ids, List<String> searchStrings) {
+            this.client = client;
+            this.base = base;
+            this.ids = ids;
+            this.searchStrings = searchStrings;
+        }
+
+        static Workload prepare(HttpClient client, URI base) throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(base).timeout(REQUEST_TIMEOUT).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Listing employees before the run failed: " + response.statusCode());
+            }
+            List<String> ids = new ArrayList<>();
+            List<String> searchStrings = new ArrayList<>();
+            for (JsonNode employee : OBJECT_MAPPER.readTree(response.body())) {
+                ids.add(employee.path("id").asText());
+                // A prefix of the last name, so a search matches a few employees rather than exactly one.
+                String name = employee.path("employee_name").asText();
+                String lastName = name.substring(name.lastIndexOf(' ') + 1);
+                searchStrings.add(lastName.substring(0, Math.min(3, lastName.length())));
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("The roster is empty, nothing to read.");
+            }
+            return new Workload(client, base, ids, searchStrings);
+        }
+
+        Samples run(Map<Operation, Integer> mix, SplittableRandom random, long measuredFrom, long endsAt) {
+            Operation[] weighted = mix.entrySet().stream()
+                    .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                    .toArray(Operation[]::new);
+            Samples samples = new Samples();
+            while (System.nanoTime() < endsAt) {
+                Operation operation = weighted[random.nextInt(weighted.length)];
+                HttpRequest request = request(operation, random);
+                if (request == null) {
+                    continue;
+                }
+                long sentAt = System.nanoTime();
+                int status = send(operation, request);
+                long latency = System.nanoTime() - sentAt;
+                if (sentAt >= measuredFrom && sentAt < endsAt) {
+                    samples.record(operation, status, latency);
+                }
+            }
+            return samples;
+        }
+
+        /**
+         * @return the request, or {@code null} for a delete with no employee left to delete
+         */
+        private HttpRequest request(Operation operation, SplittableRandom random) {
+            HttpRequest.Builder request = switch (operation) {
+                case LIST -> HttpRequest.newBuilder(base).GET();
+                case SEARCH -> HttpRequest.newBuilder(
+                                resolve("search", searchStrings.get(random.nextInt(searchStrings.size()))))
+                        .GET();
+                case BY_ID -> HttpRequest.newBuilder(resolve(ids.get(random.nextInt(ids.size()))))
+                        .GET();
+                case CREATE -> HttpRequest.newBuilder(base)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY.formatted(
+                                random.nextInt(1_000_000), random.nextInt(30_000, 500_000), random.nextInt(16, 76))));
+                case DELETE -> {
+                    String id = created.poll();
+                    yield id == null ? null : HttpRequest.newBuilder(resolve(id)).DELETE();
+                }
+            };
+            return request == null ? null : request.timeout(REQUEST_TIMEOUT).build();
+        }
+
+        /**
+         * @return the status code, or -1 if no response arrived
+         */
+        private int send(Operation operation, HttpRequest request) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (operation == Operation.CREATE && response.statusCode() == 200) {
+                    created.add(OBJECT_MAPPER.readTree(response.body()).path("id").asText());
+                }
+                return response.statusCode();
+            } catch (IOException e) {
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+
+        private URI resolve(String... segments) {
+            StringBuilder encoded = new StringBuilder(base.toString());
+            for (String segment : segments) {
+                encoded.append('/').append(URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"));
+            }
+            return URI.create(encoded.toString());
+        }
+    }
+
+    /*
+     * Latencies and status counts per operation, kept by one worker and merged once the run is over.
+     */
+    private static final class Samples {
+
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Map<Integer, Long>> statuses = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, int status, long latencyNanos) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] recorded = latencies.computeIfAbsent(operation, ignored -> new long[1024]);
+            if (count == recorded.length) {
+                recorded = Arrays.copyOf(recorded, count * 2);
+                latencies.put(operation, recorded);
+            }
+            recorded[count] = latencyNanos;
+            counts.put(operation, count + 1);
+            statuses.computeIfAbsent(operation, ignored -> new TreeMap<>()).merge(status, 1L, Long::sum);
+        }
+
+        void add(Samples other) {
+            other.counts.forEach((operation, count) -> {
+                int ours = counts.getOrDefault(operation, 0);
+                long[] merged = Arrays.copyOf(latencies.getOrDefault(operation, new long[0]), ours + count);
+                System.arraycopy(other.latencies.get(operation), 0, merged, ours, count);
+                latencies.put(operation, merged);
+                counts.put(operation, ours + count);
+            });
+            other.statuses.forEach((operation, byStatus) -> byStatus.forEach((status, count) -> statuses
+                    .computeIfAbsent(operation, ignored -> new TreeMap<>())
+                    .merge(status, count, Long::sum)));
+        }
+
+        /**
+         * @param operation the operation to summarize, or {@code null} for all of them
+         */
+        Map<String, Object> summary(Operation operation, Duration duration) {
+            long[] sorted = counts.keySet().stream()
+                    .filter(recorded -> operation == null || recorded == operation)
+                    .flatMapToLong(recorded -> Arrays.stream(latencies.get(recorded), 0, counts.get(recorded)))
+                    .sorted()
+                    .toArray();
+            Map<Integer, Long> byStatus = new TreeMap<>();
+            statuses.forEach((recorded, counted) -> {
+                if (operation == null || recorded == operation) {
+                    counted.forEach((status, count) -> byStatus.merge(status, count, Long::sum));
+                }
+            });
+            long tooManyRequests = byStatus.getOrDefault(429, 0L);
+            long errors = byStatus.entrySet().stream()
+                    .filter(entry -> entry.getKey() != 429 && (entry.getKey() < 200 || entry.getKey() >= 300))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", sorted.length);
+            summary.put("throughputPerSecond", sorted.length / (duration.toMillis() / 1000.0));
+            summary.put("rateLimited", tooManyRequests);
+            summary.put("rateLimitedRate", rate(tooManyRequests, sorted.length));
+            summary.put("errors", errors);
+            summary.put("errorRate", rate(errors, sorted.length));
+            summary.put("latencyP50Millis", percentileMillis(sorted, 0.50));
+            summary.put("latencyP90Millis", percentileMillis(sorted, 0.90));
+            summary.put("latencyP99Millis", percentileMillis(sorted, 0.99));
+            summary.put("latencyP999Millis", percentileMillis(sorted, 0.999));
+            summary.put("latencyMaxMillis", percentileMillis(sorted, 1.0));
+            summary.put("statuses", byStatus);
+            return summary;
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return -1;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return Math.round(sorted[Math.max(0, index)] / 1_000.0) / 1_000.0;
+        }
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    /*
+     * Counts every response the api's upstream client receives, retries included, ahead of its own interceptors.
+     */
+    private static final class UpstreamCounter implements ClientHttpRequestInterceptor {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder tooManyRequests = new LongAdder();
+
+        @Override
+        public ClientHttpResponse intercept(
+                org.springframework.http.HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            ClientHttpResponse response = execution.execute(request, body);
+            requests.increment();
+            if (response.getStatusCode().value() == 429) {
+                tooManyRequests.increment();
+            }
+            return response;
+        }
+    }
+
+    /*
+     * Upstream activity so far. Retries are taken from the api's own retry metrics: every attempt after a call's
+     * first.
+     */
+    private record Totals(long requests, long tooManyRequests, double retries, double exhausted) {
+
+        static Totals of(UpstreamCounter upstream, MeterRegistry apiMetrics) {
+            double attempts = 0;
+            double calls = 0;
+            for (DistributionSummary summary : apiMetrics.find("api.retry.attempts").summaries()) {
+                attempts += summary.totalAmount();
+                calls += summary.count();
+            }
+            double exhausted = apiMetrics.find("api.retry.exhausted").counters().stream()
+                    .mapToDouble(Counter::count)
+                    .sum();
+            return new Totals(upstream.requests.sum(), upstream.tooManyRequests.sum(), attempts - calls, exhausted);
+        }
+
+        Totals minus(Totals earlier) {
+            return new Totals(
+                    requests - earlier.requests,
+                    tooManyRequests - earlier.tooManyRequests,
+                    retries - earlier.retries,
+                    exhausted - earlier.exhausted);
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests);
+            summary.put("rateLimited", tooManyRequests);
+            summary.put("rateLimitedRate", rate(tooManyRequests, requests));
+            summary.put("retries", (long) retries);
+            summary.put("retriesExhausted", (long) exhausted);
+            return summary;
+        }
+    }
+}
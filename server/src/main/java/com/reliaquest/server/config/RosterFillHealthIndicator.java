@@ -0,0 +1,35 @@
+package com.reliaquest.server.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * State of a roster being filled in the background. Unknown while filling, so it does not hold up readiness, and
+ * down with the cause if the fill failed and the store was left partly filled.
+ */
+public final class RosterFillHealthIndicator implements HealthIndicator {
+
+    private volatile boolean filling;
+    private volatile Throwable failure;
+
+    void started() {
+        filling = true;
+    }
+
+    void finished() {
+        filling = false;
+    }
+
+    void failed(Throwable cause) {
+        failure = cause;
+        filling = false;
+    }
+
+    @Override
+    public Health health() {
+        if (failure != null) {
+            return Health.down().withException(failure).withDetail("state", "failed").build();
+        }
+        return filling ? Health.unknown().withDetail("state", "filling").build() : Health.up().build();
+    }
+}
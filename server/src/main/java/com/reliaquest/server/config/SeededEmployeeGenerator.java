@@ -0,0 +1,98 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import net.datafaker.Faker;
+
+/**
+ * Fast, reproducible roster generator. Faker is only used up front, with the seed, to fill small pools of names and
+ * titles; each employee is then a pure function of the seed and its index, drawn from its own
+ * {@link SplittableRandom}. Rows can therefore be generated in parallel, in any order, and the same seed always
+ * yields the same roster, ids included.
+ */
+public final class SeededEmployeeGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int NAME_POOL_SIZE = 2048;
+    private static final int TITLE_POOL_SIZE = 512;
+    private static final String EMAIL_DOMAIN = ServerConfiguration.EMAIL_TEMPLATE.formatted("");
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] emailFirstNames;
+    private final String[] emailLastNames;
+    private final String[] titles;
+
+    public SeededEmployeeGenerator(long seed) {
+        this.seed = seed;
+        // A fixed locale, so the pools do not depend on the machine generating them.
+        final var faker = new Faker(Locale.ENGLISH, new Random(seed));
+        this.firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        this.lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        this.titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+        this.emailFirstNames = emailParts(firstNames);
+        this.emailLastNames = emailParts(lastNames);
+    }
+
+    /**
+     * @return employees {@code from} (inclusive) to {@code to} (exclusive), in index order, generated in parallel
+     */
+    public List<MockEmployee> generate(long from, long to) {
+        return LongStream.range(from, to).parallel().mapToObj(this::employee).toList();
+    }
+
+    public MockEmployee employee(long index) {
+        final var random = new SplittableRandom(mix(seed + index * GOLDEN_GAMMA));
+        final int first = random.nextInt(firstNames.length);
+        final int last = random.nextInt(lastNames.length);
+        return MockEmployee.builder()
+                .id(uuid(random.nextLong(), random.nextLong()))
+                .name(firstNames[first] + " " + lastNames[last])
+                .salary(random.nextInt(30000, 500000))
+                .age(random.nextInt(16, 70))
+                .title(titles[random.nextInt(titles.length)])
+                // Concatenated rather than formatted: formatting would dominate the cost of a row.
+                .email(emailFirstNames[first] + "." + emailLastNames[last] + index + EMAIL_DOMAIN)
+                .build();
+    }
+
+    private static String[] pool(int size, Supplier<String> values) {
+        final var pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = values.get();
+        }
+        return pool;
+    }
+
+    private static String[] emailParts(String[] names) {
+        final var parts = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            parts[i] = names[i].toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        }
+        return parts;
+    }
+
+    /*
+     * Random (version 4, IETF variant) UUID from two random longs.
+     */
+    private static UUID uuid(long mostSignificant, long leastSignificant) {
+        return new UUID(
+                (mostSignificant & ~0xF000L) | 0x4000L, (leastSignificant & ~(0xC0L << 56)) | (0x80L << 56));
+    }
+
+    /*
+     * SplitMix64 finalizer, so neighbouring indexes seed unrelated streams.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,40 +1,221 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.server.controller.MockEmployeeController;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.HeapMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.MockEmployeeChangeBroadcaster;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final int GENERATION_CHUNK = 65_536;
+
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${mock.rate-limit.limit:10}")
+    private int rateLimit;
+
+    @Value("${mock.rate-limit.window:30s}")
+    private Duration rateLimitWindow;
+
+    // Only for deployments behind a proxy that sets the header; clients could otherwise pick a fresh id per request.
+    @Value("${mock.rate-limit.trust-client-id:false}")
+    private boolean rateLimitTrustClientId;
+
+    // Looked up lazily: the service depends on the store defined here.
+    private final ObjectProvider<MockEmployeeService> mockEmployeeService;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Group commit: the journal writer fsyncs at most max-batch records at once, and with a positive max-delay waits
+     * that long for more writers to join a batch. fsync=false leaves flushing to the OS.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeeJournal mockEmployeeJournal(
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.fsync:true}") boolean fsync,
+            @Value("${mock.persistence.group-commit.max-batch:1024}") int maxBatch,
+            @Value("${mock.persistence.group-commit.max-delay:0ms}") Duration maxDelay) {
+        return new MockEmployeeJournal(directory, fsync, maxBatch, maxDelay);
+    }
+
+    /*
+     * Bounded log of recent creates and deletes behind the change feed; clients that fall further behind resync.
+     */
+    @Bean
+    public MockEmployeeChangeLog mockEmployeeChangeLog(@Value("${mock.change-log.capacity:10000}") int capacity) {
+        return new MockEmployeeChangeLog(capacity);
+    }
+
+    /*
+     * Server-sent event push of the same changes. Each subscriber buffers up to buffer-size events before it is
+     * dropped to a resync; the heartbeat keeps idle streams, and the clients' read timeouts, alive.
+     */
+    @Bean(destroyMethod = "close")
+    public MockEmployeeChangeBroadcaster mockEmployeeChangeBroadcaster(
+            @Value("${mock.push.buffer-size:1024}") int bufferSize,
+            @Value("${mock.push.heartbeat:5s}") Duration heartbeat) {
+        return new MockEmployeeChangeBroadcaster(bufferSize, heartbeat);
+    }
+
+    /*
+     * Reported under /actuator/health as rosterFill; only a lazy fill ever leaves it other than up.
+     */
+    @Bean
+    public RosterFillHealthIndicator rosterFillHealthIndicator() {
+        return new RosterFillHealthIndicator();
+    }
+
+    /*
+     * This store is modifiable by design for CRUD operations. With mock.employees.seed set, the roster is generated
+     * by SeededEmployeeGenerator: reproducible and parallel, fast enough for millions of rows. With mock.employees.lazy
+     * also set, the bean is returned empty and filled in the background, so the server starts serving immediately; a
+     * failed fill is logged and reported by rosterFillHealthIndicator.
+     *
+     * With mock.persistence.enabled the store is recovered from its journal instead, and only generated (eagerly)
+     * when there is nothing to recover.
+     *
+     * mock.store.type selects the implementation: heap (the default) keeps MockEmployee objects, columnar keeps
+     * primitive columns in direct memory for rosters of tens of millions.
+     *
+     * The change log and push are attached once the initial roster is in place, so only later changes (including a
+     * lazy fill) are fed to clients.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public MockEmployeeStore mockEmployeeStore(
+            Faker faker,
+            ObjectProvider<MockEmployeeJournal> journal,
+            MockEmployeeChangeLog changeLog,
+            MockEmployeeChangeBroadcaster changeBroadcaster,
+            RosterFillHealthIndicator fillHealth,
+            @Value("${mock.store.type:heap}") String storeType,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.lazy:false}") boolean lazy,
+            @Value("${mock.persistence.snapshot-interval:5m}") Duration snapshotInterval)
+            throws IOException {
+        final var store = newStore(storeType);
+        final var persistence = journal.getIfAvailable();
+        if (persistence != null) {
+            final boolean recovered = persistence.recover(store);
+            if (!recovered) {
+                fill(store, faker, maxEmployees, seed);
+            }
+            persistence.start();
+            if (!recovered) {
+                persistence.snapshot(store.findAll());
+            }
+            attach(store, persistence, changeLog, changeBroadcaster);
+            persistence.scheduleSnapshots(store::findAll, snapshotInterval);
+            return store;
+        }
+        if (seed == null) {
+            fillWithFaker(store, faker, maxEmployees);
+            attach(store, persistence, changeLog, changeBroadcaster);
+            return store;
+        }
+        final var generator = new SeededEmployeeGenerator(seed);
+        final Runnable fill = () -> fillWithSeed(store, generator, maxEmployees, seed);
+        if (lazy) {
+            attach(store, persistence, changeLog, changeBroadcaster);
+            fillInBackground(fill, fillHealth);
+        } else {
+            fill.run();
+            attach(store, persistence, changeLog, changeBroadcaster);
+        }
+        return store;
+    }
+
+    static Thread fillInBackground(Runnable fill, RosterFillHealthIndicator fillHealth) {
+        fillHealth.started();
+        final var thread = new Thread(
+                () -> {
+                    try {
+                        fill.run();
+                        fillHealth.finished();
+                    } catch (RuntimeException | Error e) {
+                        log.error("Background roster generation failed, the store is only partly filled.", e);
+                        fillHealth.failed(e);
+                    }
+                },
+                "mock-employee-generator");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void attach(
+            MockEmployeeStore store,
+            MockEmployeeJournal journal,
+            MockEmployeeChangeLog changeLog,
+            MockEmployeeChangeBroadcaster changeBroadcaster) {
+        changeLog.startAt(store.version());
+        final var feeds = changeLog.andThen(changeBroadcaster);
+        store.setMutationLog(journal == null ? feeds : journal.andThen(feeds));
+    }
+
+    private static MockEmployeeStore newStore(String type) {
+        return switch (type) {
+            case "heap" -> new HeapMockEmployeeStore();
+            case "columnar" -> new ColumnarMockEmployeeStore();
+            default -> throw new IllegalArgumentException("Unknown mock.store.type: " + type);
+        };
+    }
+
+    private static void fill(MockEmployeeStore store, Faker faker, int maxEmployees, Long seed) {
+        if (seed == null) {
+            fillWithFaker(store, faker, maxEmployees);
+        } else {
+            fillWithSeed(store, new SeededEmployeeGenerator(seed), maxEmployees, seed);
+        }
+    }
+
+    private static void fillWithFaker(MockEmployeeStore store, Faker faker, int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -46,14 +227,70 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .forEach(store::add);
     }
 
+    /*
+     * Chunked so each chunk is generated in parallel while the store's write lock is only held to add it.
+     */
+    private static void fillWithSeed(MockEmployeeStore store, SeededEmployeeGenerator generator, int count, long seed) {
+        final long started = System.nanoTime();
+        for (int from = 0; from < count; from += GENERATION_CHUNK) {
+            store.addAll(generator.generate(from, Math.min(from + GENERATION_CHUNK, count)));
+        }
+        log.info(
+                "Generated {} employees from seed {} in {} ms.",
+                count,
+                seed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /*
+     * A roster GET that revalidates an unchanged roster is answered 304 from the store version alone, and a change
+     * feed request from the current version with no changes, so neither is charged against the client's rate limit.
+     * A stale or missing tag or version is charged as usual.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitEnabled) {
+            final var requestLimit = new RequestLimitInterceptor(
+                    rateLimit,
+                    rateLimitWindow,
+                    rateLimitTrustClientId,
+                    request -> HttpMethod.GET.matches(request.getMethod()) && isUnchangedRead(request));
+            meterRegistry.ifAvailable(meters -> FunctionCounter.builder(
+                            "mock.rate-limit.rejected", requestLimit, RequestLimitInterceptor::rejectedCount)
+                    .description("Requests rejected with 429 by the rate limit")
+                    .register(meters));
+            registry.addInterceptor(requestLimit);
+        }
+    }
+
+    private boolean isUnchangedRead(HttpServletRequest request) {
+        return switch (request.getRequestURI()) {
+            case MockEmployeeController.ROSTER_PATH -> mockEmployeeService
+                    .getObject()
+                    .isRosterUnchanged(request.getHeader(HttpHeaders.IF_NONE_MATCH));
+            case MockEmployeeController.CHANGES_PATH -> mockEmployeeService
+                    .getObject()
+                    .isRosterVersionCurrent(request.getParameter("since"));
+            default -> false;
+        };
+    }
+
+    @Bean
+    public MeterBinder mockEmployeeMetrics(
+            MockEmployeeStore mockEmployeeStore, MockEmployeeChangeBroadcaster changeBroadcaster) {
+        return meters -> {
+            Gauge.builder("mock.employees", mockEmployeeStore, MockEmployeeStore::size)
+                    .description("Employees in the store")
+                    .register(meters);
+            Gauge.builder("mock.push.subscribers", changeBroadcaster, MockEmployeeChangeBroadcaster::subscriberCount)
+                    .description("Open change streams")
+                    .register(meters);
+        };
     }
 }
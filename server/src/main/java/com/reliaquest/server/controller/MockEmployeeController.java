@@ -1,34 +1,111 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BatchItemResponse;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.MockEmployeeChangeBroadcaster;
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
-@RequestMapping("/api/v1/employee")
+@RequestMapping(MockEmployeeController.ROSTER_PATH)
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String ROSTER_PATH = "/api/v1/employee";
+    public static final String CHANGES_PATH = ROSTER_PATH + "/changes";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final MockEmployeeChangeBroadcaster changeBroadcaster;
+
+    /*
+     * Without paging parameters the whole roster is returned, as before. With a size or cursor, one page is returned
+     * and the token for the next page, if any, travels in the X-Next-Cursor header so the body keeps its shape.
+     *
+     * Either way the response carries the roster's ETag, and a request whose If-None-Match still matches it is
+     * answered 304 without reading the store; the tag covers the whole roster, so that holds for pages too.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<Collection<MockEmployee>>> getEmployees(
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest request) {
+        if (request.checkNotModified(mockEmployeeService.getRosterETag())) {
+            return null;
+        }
+        if (size == null && cursor == null) {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        final var page =
+                mockEmployeeService.getMockEmployeePage(Objects.requireNonNullElse(size, DEFAULT_PAGE_SIZE), cursor);
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Change feed: the creates and deletes since a roster version, which is the roster's ETag (the quotes are
+     * optional) or the version returned by the previous call. With resyncRequired the roster must be fetched in full.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam("since") String since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
+    }
+
+    /*
+     * The change feed pushed as server-sent events. With since (or Last-Event-ID, as sent by reconnecting EventSource
+     * clients) the stream starts with the changes missed since then, or a resync event; without, with new changes.
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        final var from = since != null ? since : lastEventId;
+        return changeBroadcaster.subscribe(
+                () -> from == null ? null : mockEmployeeService.getChangesSince(from),
+                mockEmployeeService::getRosterVersion);
+    }
+
+    @GetMapping("/search/{fragment}")
+    public Response<List<MockEmployee>> searchEmployees(@PathVariable("fragment") String fragment) {
+        return Response.handledWith(mockEmployeeService.searchByName(fragment));
+    }
+
+    @GetMapping("/salary/max")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.getHighestSalary().orElse(null));
+    }
+
+    @GetMapping("/salary/top")
+    public Response<List<MockEmployee>> getTopEarners(@RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.getTopEarners(limit));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +125,20 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Batch endpoints carry up to MockEmployeeService.MAX_BATCH_SIZE mutations in one request, and so against one
+     * unit of the request budget. Items succeed or fail individually; the result list is in request order.
+     */
+    @PostMapping("/batch")
+    public Response<List<BatchItemResponse<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(inputs));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<BatchItemResponse<MockEmployee>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.deleteAll(inputs));
+    }
 }
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request; {@code index} is the item's position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResponse<T>(int index, Response.Status status, T data, String error) {
+
+    public static <T> BatchItemResponse<T> handledWith(int index, T data) {
+        return new BatchItemResponse<>(index, Response.Status.HANDLED, data, null);
+    }
+
+    public static <T> BatchItemResponse<T> error(int index, String error) {
+        return new BatchItemResponse<>(index, Response.Status.ERROR, null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * One create or delete, tagged with the roster version it produced. A delete carries the employee as it was removed.
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
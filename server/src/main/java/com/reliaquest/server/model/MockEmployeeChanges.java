@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Answer to a change feed request. Applying {@code changes} in order to a roster at the requested version brings it to
+ * {@code version}, the token to ask from next time. With {@code resyncRequired} the changes are no longer known, or
+ * the requested version is not from this server's lifetime; the roster must then be reloaded in full.
+ */
+public record MockEmployeeChanges(String version, boolean resyncRequired, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChanges resync() {
+        return new MockEmployeeChanges(null, true, List.of());
+    }
+}
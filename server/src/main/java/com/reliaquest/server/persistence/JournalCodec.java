@@ -0,0 +1,162 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary records of the journal and snapshot files. Each record is framed as
+ * {@code [int payload length][int CRC32C of payload][payload]}, so a torn or corrupt tail is detected on read. A
+ * payload is a type byte followed by the employee: {@link #ADDED} carries every field, {@link #REMOVED} only the id.
+ */
+final class JournalCodec {
+
+    static final byte ADDED = 1;
+    static final byte REMOVED = 2;
+
+    private static final int FRAME_HEADER = 2 * Integer.BYTES;
+    private static final int NULL = -1;
+    private static final int READ_BUFFER = 1 << 20;
+    private static final int MAX_PAYLOAD = 64 << 20;
+
+    private JournalCodec() {}
+
+    static ByteBuffer added(MockEmployee employee) {
+        final byte[] name = bytes(employee.getName());
+        final byte[] title = bytes(employee.getTitle());
+        final byte[] email = bytes(employee.getEmail());
+        final int payload = 1 + 2 * Long.BYTES + 2 * Integer.BYTES + length(name) + length(title) + length(email);
+        final var frame = ByteBuffer.allocate(FRAME_HEADER + payload).position(FRAME_HEADER);
+        frame.put(ADDED);
+        putId(frame, employee.getId());
+        frame.putInt(employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+        frame.putInt(employee.getAge() == null ? Integer.MIN_VALUE : employee.getAge());
+        putBytes(frame, name);
+        putBytes(frame, title);
+        putBytes(frame, email);
+        return seal(frame, payload);
+    }
+
+    static ByteBuffer removed(MockEmployee employee) {
+        final int payload = 1 + 2 * Long.BYTES;
+        final var frame = ByteBuffer.allocate(FRAME_HEADER + payload).position(FRAME_HEADER);
+        frame.put(REMOVED);
+        putId(frame, employee.getId());
+        return seal(frame, payload);
+    }
+
+    /**
+     * Decodes one payload, as handed out by {@link #readFrames}.
+     */
+    static void decode(ByteBuffer payload, Consumer<MockEmployee> onAdded, Consumer<UUID> onRemoved) {
+        final byte type = payload.get();
+        final var id = getId(payload);
+        if (type == REMOVED) {
+            onRemoved.accept(id);
+            return;
+        }
+        if (type != ADDED) {
+            throw new IllegalStateException("Unknown journal record type " + type + ".");
+        }
+        final int salary = payload.getInt();
+        final int age = payload.getInt();
+        onAdded.accept(MockEmployee.builder()
+                .id(id)
+                .salary(salary == Integer.MIN_VALUE ? null : salary)
+                .age(age == Integer.MIN_VALUE ? null : age)
+                .name(getString(payload))
+                .title(getString(payload))
+                .email(getString(payload))
+                .build());
+    }
+
+    /**
+     * Reads frames from the start of {@code channel} until its end or the first torn or corrupt frame.
+     *
+     * @return the length of the valid prefix, i.e. the position just past the last good frame
+     */
+    static long readFrames(FileChannel channel, Consumer<ByteBuffer> onPayload) throws IOException {
+        var buffer = ByteBuffer.allocateDirect(READ_BUFFER);
+        final var crc = new CRC32C();
+        long valid = 0;
+        channel.position(0);
+        boolean eof = false;
+        while (!eof) {
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            while (buffer.remaining() >= FRAME_HEADER) {
+                final int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > MAX_PAYLOAD) {
+                    return valid;
+                }
+                if (buffer.remaining() < FRAME_HEADER + length) {
+                    if (FRAME_HEADER + length > buffer.capacity()) {
+                        buffer = ByteBuffer.allocateDirect(FRAME_HEADER + length).put(buffer).flip();
+                    }
+                    break;
+                }
+                final int expected = buffer.getInt(buffer.position() + Integer.BYTES);
+                final var payload = buffer.slice(buffer.position() + FRAME_HEADER, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != expected) {
+                    return valid;
+                }
+                onPayload.accept(payload);
+                buffer.position(buffer.position() + FRAME_HEADER + length);
+                valid += FRAME_HEADER + length;
+            }
+            buffer.compact();
+        }
+        // Whatever is left is a partial frame: a write torn by a crash.
+        return valid;
+    }
+
+    private static ByteBuffer seal(ByteBuffer frame, int payload) {
+        final var crc = new CRC32C();
+        crc.update(frame.array(), FRAME_HEADER, payload);
+        frame.putInt(0, payload);
+        frame.putInt(Integer.BYTES, (int) crc.getValue());
+        return frame.flip();
+    }
+
+    private static void putId(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == NULL) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,490 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeMutationLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable home of a {@link MockEmployeeStore}: an append-only journal of mutations plus periodic snapshots, all
+ * written through NIO file channels.
+ *
+ * <p>Mutations are framed and queued under the store's write lock, so the journal holds them in the order they were
+ * applied. A single writer thread drains the queue and writes everything queued in one gathering write followed by
+ * one fsync: concurrent writers share the fsync (group commit). A batch is at most {@code maxBatch} records, and the
+ * writer may wait up to {@code maxDelay} for a batch to fill, trading latency for fewer fsyncs.
+ *
+ * <p>The journal is split into numbered segments. A snapshot switches the writer to a new segment, then streams the
+ * live store to {@code snapshot-<segment>.bin}; the store is not paused, so the snapshot may already include some
+ * mutations of the new segment. Replay is idempotent by id (an add replaces, a remove of a missing id is a no-op),
+ * so loading the newest snapshot and replaying the segments from its number on recovers the exact state. Older
+ * files are deleted once the snapshot is durable, its rename included: with fsync the directory is forced after
+ * every file it gains.
+ *
+ * <p>Only the newest segment can end in a torn write, which recovery truncates. A bad frame anywhere else is
+ * corruption, and recovery fails rather than skip the rest of that file and replay later ones over the gap. Once a
+ * write fails the journal refuses further mutations through {@link #checkWritable()}, before the store applies them;
+ * mutations already applied when the write failed are still passed on, and {@link #sync()} reports the failure.
+ */
+@Slf4j
+public final class MockEmployeeJournal implements MockEmployeeMutationLog, AutoCloseable {
+
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int RECOVERY_CHUNK = 65_536;
+    private static final int SNAPSHOT_BUFFER = 1 << 20;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AtomicLong appended = new AtomicLong();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long durable;
+    private volatile IOException failure;
+
+    private long lastSegment;
+    private long segment;
+    private FileChannel segmentChannel;
+    private Thread writer;
+    private ScheduledExecutorService snapshots;
+    private Supplier<Collection<MockEmployee>> snapshotSource;
+
+    public MockEmployeeJournal(Path directory, boolean fsync, int maxBatch, Duration maxDelay) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /**
+     * Loads the newest snapshot and replays the journal into {@code store}. Must be called before {@link #start}.
+     *
+     * @return whether any persisted state was found
+     */
+    public boolean recover(MockEmployeeStore store) throws IOException {
+        Files.createDirectories(directory);
+        final long started = System.nanoTime();
+        final long snapshot = newest(SNAPSHOT);
+        if (snapshot > 0) {
+            final var chunk = new ArrayList<MockEmployee>(RECOVERY_CHUNK);
+            try (var channel = FileChannel.open(snapshotPath(snapshot), StandardOpenOption.READ)) {
+                final long valid = JournalCodec.readFrames(channel, payload -> JournalCodec.decode(
+                        payload,
+                        employee -> {
+                            chunk.add(employee);
+                            if (chunk.size() == RECOVERY_CHUNK) {
+                                store.addAll(chunk);
+                                chunk.clear();
+                            }
+                        },
+                        ignored -> {}));
+                checkIntact(snapshotPath(snapshot), valid, channel.size());
+            }
+            store.addAll(chunk);
+        }
+        final var segments = numbers(SEGMENT).stream().filter(number -> number >= snapshot).toList();
+        for (int i = 0; i < segments.size(); i++) {
+            replay(journalPath(segments.get(i)), store, i == segments.size() - 1);
+        }
+        lastSegment = Math.max(snapshot, segments.isEmpty() ? 0 : segments.get(segments.size() - 1));
+        log.info(
+                "Recovered {} employees from snapshot {} and {} journal segments in {} ms.",
+                store.size(),
+                snapshot,
+                segments.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return snapshot > 0 || !segments.isEmpty();
+    }
+
+    /**
+     * Opens a fresh journal segment and starts the writer thread.
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        segment = ++lastSegment;
+        segmentChannel = openSegment(segment);
+        writer = new Thread(this::writeLoop, "mock-employee-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Takes a snapshot of {@code employees} every {@code interval}, and a last one on {@link #close}.
+     */
+    public void scheduleSnapshots(Supplier<Collection<MockEmployee>> employees, Duration interval) {
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "mock-employee-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshots.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        snapshot(employees.get());
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Snapshot failed, the journal keeps growing until the next one.", e);
+                    }
+                },
+                interval.toMillis(),
+                interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        snapshotSource = employees;
+    }
+
+    public void snapshot(Collection<MockEmployee> employees) throws IOException {
+        snapshotLock.lock();
+        try {
+            final long number = enqueueRotation();
+            sync();
+            final long started = System.nanoTime();
+            final var temporary = directory.resolve(snapshotPath(number).getFileName() + ".tmp");
+            long count = 0;
+            try (var channel = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                final var buffer = ByteBuffer.allocateDirect(SNAPSHOT_BUFFER);
+                for (MockEmployee employee : employees) {
+                    final var frame = JournalCodec.added(employee);
+                    if (buffer.remaining() < frame.remaining()) {
+                        writeFully(channel, buffer.flip());
+                        buffer.clear();
+                    }
+                    if (buffer.remaining() < frame.remaining()) {
+                        writeFully(channel, frame);
+                    } else {
+                        buffer.put(frame);
+                    }
+                    count++;
+                }
+                writeFully(channel, buffer.flip());
+                channel.force(true);
+            }
+            Files.move(
+                    temporary,
+                    snapshotPath(number),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            deleteBefore(number);
+            log.info(
+                    "Snapshot {} of {} employees written in {} ms.",
+                    number,
+                    count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /*
+     * Replay works by id, so an employee without one cannot be journaled; the store never holds such employees.
+     * Versions are not journaled: replaying into a fresh store produces its own.
+     */
+    @Override
+    public void added(long version, MockEmployee employee) {
+        if (employee.getId() != null) {
+            enqueue(new Entry(JournalCodec.added(employee), 0));
+        }
+    }
+
+    @Override
+    public void removed(long version, MockEmployee employee) {
+        if (employee.getId() != null) {
+            enqueue(new Entry(JournalCodec.removed(employee), 0));
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException if the journal can no longer be written
+     */
+    @Override
+    public void sync() {
+        final long target = appended.get();
+        if (durable >= target) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durable < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Mutation journal is unavailable.", failure);
+                }
+                durableAdvanced.awaitUninterruptibly();
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+            if (snapshotSource != null && failure == null) {
+                snapshot(snapshotSource.get());
+            }
+        }
+        if (writer != null) {
+            enqueue(Entry.STOP);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (segmentChannel != null) {
+            segmentChannel.close();
+        }
+    }
+
+    /*
+     * Never throws: the store has already applied the mutation, and the rest of the log chain must still see it. A
+     * failed writer leaves the entry queued, and sync reports the failure.
+     */
+    private void enqueue(Entry entry) {
+        appendLock.lock();
+        try {
+            appended.incrementAndGet();
+            queue.add(entry);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /*
+     * Everything queued before the rotation lands in the old segment, everything after it in the new one.
+     */
+    private long enqueueRotation() {
+        appendLock.lock();
+        try {
+            checkWritable();
+            final long next = ++lastSegment;
+            appended.incrementAndGet();
+            queue.add(new Entry(null, next));
+            return next;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException if a journal write has failed
+     */
+    @Override
+    public void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Mutation journal is unavailable.", failure);
+        }
+    }
+
+    private void writeLoop() {
+        final var batch = new ArrayList<Entry>(maxBatch);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - batch.size());
+                final long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch && maxDelayNanos > 0) {
+                    final var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                final boolean stop = write(batch);
+                advanceDurable(batch.size());
+                batch.clear();
+                if (stop) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Mutation journal write failed, further mutations are not durable.", e);
+            failure = e;
+            advanceDurable(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether the batch ended with the stop marker
+     */
+    private boolean write(List<Entry> batch) throws IOException {
+        final var frames = new ArrayList<ByteBuffer>(batch.size());
+        for (Entry entry : batch) {
+            if (entry == Entry.STOP) {
+                flush(frames);
+                return true;
+            }
+            if (entry.rotateTo() > 0) {
+                flush(frames);
+                segmentChannel.close();
+                segment = entry.rotateTo();
+                segmentChannel = openSegment(segment);
+            } else {
+                frames.add(entry.frame());
+            }
+        }
+        flush(frames);
+        return false;
+    }
+
+    private void flush(List<ByteBuffer> frames) throws IOException {
+        if (frames.isEmpty()) {
+            return;
+        }
+        final var buffers = frames.toArray(ByteBuffer[]::new);
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= segmentChannel.write(buffers);
+        }
+        if (fsync) {
+            segmentChannel.force(false);
+        }
+        frames.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void advanceDurable(int records) {
+        durableLock.lock();
+        try {
+            durable += records;
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void replay(Path path, MockEmployeeStore store, boolean newest) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long valid = JournalCodec.readFrames(
+                    channel, payload -> JournalCodec.decode(payload, store::add, store::removeById));
+            if (!newest) {
+                checkIntact(path, valid, channel.size());
+            } else if (valid < channel.size()) {
+                log.warn("Truncating torn tail of {} at byte {} of {}.", path.getFileName(), valid, channel.size());
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    private static void checkIntact(Path path, long valid, long size) throws IOException {
+        if (valid < size) {
+            throw new IOException("%s is corrupt at byte %d of %d; it was complete when written, so recovery stops."
+                    .formatted(path.getFileName(), valid, size));
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        final var path = journalPath(number);
+        final boolean created = Files.notExists(path);
+        final var channel =
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (created) {
+            try {
+                forceDirectory();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        return channel;
+    }
+
+    /*
+     * A new or renamed file is only durable once its directory entry is; without this a crash could lose a segment
+     * or snapshot whose contents were already forced.
+     */
+    private void forceDirectory() throws IOException {
+        if (fsync) {
+            try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private void deleteBefore(long number) throws IOException {
+        for (long older : numbers(SEGMENT)) {
+            if (older < number) {
+                Files.deleteIfExists(journalPath(older));
+            }
+        }
+        for (long older : numbers(SNAPSHOT)) {
+            if (older < number) {
+                Files.deleteIfExists(snapshotPath(older));
+            }
+        }
+    }
+
+    private long newest(Pattern pattern) throws IOException {
+        return numbers(pattern).stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    private List<Long> numbers(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path journalPath(long number) {
+        return directory.resolve("journal-%019d.log".formatted(number));
+    }
+
+    private Path snapshotPath(long number) {
+        return directory.resolve("snapshot-%019d.bin".formatted(number));
+    }
+
+    /*
+     * A frame to append, or with rotateTo > 0 a switch to that segment.
+     */
+    private record Entry(ByteBuffer frame, long rotateTo) {
+
+        static final Entry STOP = new Entry(null, -1);
+    }
+}
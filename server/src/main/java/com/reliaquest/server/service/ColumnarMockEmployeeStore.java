@@ -0,0 +1,841 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * {@link MockEmployeeStore} for very large rosters. Rows are stored column by column in direct memory: ids as two
+ * longs, salary and age as ints, names and emails as UTF-8 in an {@link OffHeapStringArena}, and titles as ids into
+ * a table of distinct titles. The indexes by id and by name are open-addressing tables of row numbers, also in direct
+ * memory. A {@link MockEmployee} only exists while a row is being returned, so the heap holds no per-row objects and
+ * the garbage collector has nothing to trace. Direct memory defaults to the size of the heap, so large rosters need
+ * {@code -XX:MaxDirectMemorySize}; a row takes roughly 85 bytes plus its strings.
+ *
+ * <p>Rows are kept in sequence order. A removed row is only marked as such until removed rows outnumber live ones;
+ * the live rows are then copied into fresh columns, arena and indexes, and the old ones are freed once no reader
+ * holds them. That bounds both the memory of removed employees and the removed rows a scan has to skip, at a cost
+ * that amortizes to a constant per removal. Mutations are serialized by a single lock; reads never block and see a
+ * weakly consistent view while a write is in progress. The copy is made outside the lock, by the writer whose
+ * mutation called for it, so other writes go on meanwhile; the lock is only taken again to bring the copy up to date
+ * with them and swap it in. Search and top-by-salary scan the salary and name columns rather than keeping an index.
+ */
+public final class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    /**
+     * Removed rows never trigger a compaction until there are at least this many, so a small store does not copy
+     * itself over and over.
+     */
+    static final int MIN_COMPACTION_ROWS = 1024;
+
+    private static final int NO_ROW = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NO_TITLE = -1;
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final int MAX_INDEX_CAPACITY = 1 << 27;
+
+    private static final VarHandle SLOT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /*
+     * Only consulted by writers, so they are guarded by the write lock rather than being concurrent themselves.
+     * Titles are few, so their table is kept across compactions.
+     */
+    private final Map<String, Integer> titleIds = new HashMap<>();
+    private long lastSequence;
+    private int highestSalaryCount;
+
+    /*
+     * Sequence numbers of the rows removed while a compaction copies, to be removed from the copy too; null when no
+     * compaction is running.
+     */
+    private long[] removedDuringCompaction;
+    private int removedDuringCompactionCount;
+
+    /*
+     * Runs between a compaction's copy and its catch-up, outside the lock, for tests to mutate the store meanwhile.
+     */
+    volatile Runnable compactionCopied = () -> {};
+
+    private volatile int highestSalary = NULL_INT;
+    private volatile String[] titleTable = new String[64];
+
+    /*
+     * Replaced by a compaction. A reader takes it once and finishes on it.
+     */
+    private volatile Rows rows = new Rows();
+
+    private volatile int liveCount;
+
+    private volatile long version;
+
+    private volatile MockEmployeeMutationLog mutationLog = MockEmployeeMutationLog.NONE;
+
+    private final Collection<MockEmployee> view = new AbstractCollection<>() {
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new RowIterator(rows);
+        }
+
+        @Override
+        public int size() {
+            return liveCount;
+        }
+    };
+
+    @Override
+    public void setMutationLog(@NonNull MockEmployeeMutationLog mutationLog) {
+        this.mutationLog = mutationLog;
+    }
+
+    @Override
+    public void sync() {
+        mutationLog.sync();
+    }
+
+    /**
+     * Rows are materialized one at a time as the view is iterated.
+     */
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return view;
+    }
+
+    @Override
+    public Page page(long afterSequence, int limit) {
+        final var rows = this.rows;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        final int end = rows.count;
+        long lastSequence = afterSequence;
+        for (int row = rows.firstAfter(afterSequence, end); row < end; row++) {
+            if (rows.isRemoved(row)) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                return new Page(employees, lastSequence, true);
+            }
+            employees.add(employee(rows, row));
+            lastSequence = rows.sequences.getLong(row);
+        }
+        return new Page(employees, lastSequence, false);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var rows = this.rows;
+        final int row = rows.byId.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return row == NO_ROW || rows.isRemoved(row) ? Optional.empty() : Optional.of(employee(rows, row));
+    }
+
+    @Override
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        final var rows = this.rows;
+        final byte[] asciiFragment = asciiLowerCase(fragment);
+        final var matches = new ArrayList<MockEmployee>();
+        final int end = rows.count;
+        for (int row = 0; row < end; row++) {
+            final long name = rows.names.getLong(row);
+            if (name != OffHeapStringArena.NULL
+                    && !rows.isRemoved(row)
+                    && nameContains(rows.strings, name, fragment, asciiFragment)) {
+                matches.add(employee(rows, row));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public Optional<Integer> highestSalary() {
+        return Optional.ofNullable(nullable(highestSalary));
+    }
+
+    /**
+     * One pass over the salary column, keeping the best {@code limit} rows in a bounded heap.
+     */
+    @Override
+    public List<MockEmployee> topBySalary(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        final var rows = this.rows;
+        // Salary in the high half, inverted row in the low half: a larger key is a higher salary, then an earlier row.
+        final var best = new PriorityQueue<Long>(limit);
+        final int end = rows.count;
+        for (int row = 0; row < end; row++) {
+            final int salary = rows.salaries.getInt(row);
+            if (salary == NULL_INT || rows.isRemoved(row)) {
+                continue;
+            }
+            final long key = ((long) salary << 32) | (0xFFFFFFFFL - row);
+            if (best.size() < limit) {
+                best.add(key);
+            } else if (key > best.peek()) {
+                best.poll();
+                best.add(key);
+            }
+        }
+        final long[] keys = best.stream().mapToLong(Long::longValue).sorted().toArray();
+        final var top = new ArrayList<MockEmployee>(keys.length);
+        for (int i = keys.length - 1; i >= 0; i--) {
+            top.add(employee(rows, (int) (0xFFFFFFFFL - (keys[i] & 0xFFFFFFFFL))));
+        }
+        return top;
+    }
+
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        return mutate(() -> {
+            append(employee);
+            return employee;
+        });
+    }
+
+    @Override
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        mutate(() -> {
+            employees.forEach(this::append);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        return mutate(() -> removeFirstRowByName(name));
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        return mutate(() -> {
+            final int row = rows.byId.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return row == NO_ROW || rows.isRemoved(row) ? Optional.empty() : Optional.of(remove(row));
+        });
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> removeFirstByNames(@NonNull List<String> names) {
+        return mutate(() -> {
+            final var removedEmployees = new ArrayList<Optional<MockEmployee>>(names.size());
+            names.forEach(name -> removedEmployees.add(removeFirstRowByName(name)));
+            return removedEmployees;
+        });
+    }
+
+    /**
+     * Rows held in direct memory, live or removed, for tests to observe compaction.
+     */
+    int storedRows() {
+        return rows.count;
+    }
+
+    /*
+     * Applies a mutation under the write lock, then compacts if the mutation left the rows sparse.
+     */
+    private <T> T mutate(Supplier<T> mutation) {
+        final T result;
+        final int compactionEnd;
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            result = mutation.get();
+            compactionEnd = startCompactionIfSparse();
+        } finally {
+            writeLock.unlock();
+        }
+        if (compactionEnd != NO_ROW) {
+            compact(compactionEnd);
+        }
+        return result;
+    }
+
+    /*
+     * append, remove, removeFirstRowByName, markRemoved and startCompactionIfSparse must be called with the write
+     * lock held, which also keeps the mutation log in the order mutations were applied.
+     */
+    private void append(MockEmployee employee) {
+        final var rows = this.rows;
+        final int row = rows.count;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Columnar employee store is full.");
+        }
+        final int replaced = rows.write(row, ++lastSequence, employee);
+        if (replaced != NO_ROW && !rows.isRemoved(replaced)) {
+            markRemoved(replaced);
+        }
+        if (employee.getSalary() != null) {
+            final int salary = employee.getSalary();
+            if (highestSalary == NULL_INT || salary > highestSalary) {
+                highestSalary = salary;
+                highestSalaryCount = 1;
+            } else if (salary == highestSalary) {
+                highestSalaryCount++;
+            }
+        }
+        liveCount = liveCount + 1;
+        rows.count = row + 1;
+        mutationLog.added(++version, employee);
+    }
+
+    private Optional<MockEmployee> removeFirstRowByName(String name) {
+        final String key = nameKey(name);
+        final int row = rows.byName.firstLive(key, hash(key.hashCode()));
+        return row == NO_ROW ? Optional.empty() : Optional.of(remove(row));
+    }
+
+    private MockEmployee remove(int row) {
+        final var employee = employee(rows, row);
+        markRemoved(row);
+        mutationLog.removed(++version, employee);
+        return employee;
+    }
+
+    private void markRemoved(int row) {
+        rows.removed.putByte(row, (byte) 1);
+        if (removedDuringCompaction != null) {
+            if (removedDuringCompactionCount == removedDuringCompaction.length) {
+                removedDuringCompaction = Arrays.copyOf(removedDuringCompaction, removedDuringCompactionCount * 2);
+            }
+            removedDuringCompaction[removedDuringCompactionCount++] = rows.sequences.getLong(row);
+        }
+        final int salary = rows.salaries.getInt(row);
+        if (salary != NULL_INT && salary == highestSalary && --highestSalaryCount == 0) {
+            recomputeHighestSalary();
+        }
+        liveCount = liveCount - 1;
+    }
+
+    /*
+     * Only needed once the last employee with the highest salary is removed, so a scan is cheaper than keeping the
+     * salaries ordered on every write.
+     */
+    private void recomputeHighestSalary() {
+        final var rows = this.rows;
+        int highest = NULL_INT;
+        int count = 0;
+        final int end = rows.count;
+        for (int row = 0; row < end; row++) {
+            final int salary = rows.salaries.getInt(row);
+            if (salary == NULL_INT || rows.isRemoved(row) || salary < highest) {
+                continue;
+            }
+            count = salary == highest ? count + 1 : 1;
+            highest = salary;
+        }
+        highestSalary = highest;
+        highestSalaryCount = count;
+    }
+
+    /*
+     * Starts a compaction once removed rows outnumber live ones, unless one is already running.
+     *
+     * @return the rows the compaction copies outside the lock, or NO_ROW
+     */
+    private int startCompactionIfSparse() {
+        final int removedRows = rows.count - liveCount;
+        if (removedDuringCompaction != null || removedRows < MIN_COMPACTION_ROWS || removedRows <= liveCount) {
+            return NO_ROW;
+        }
+        removedDuringCompaction = new long[64];
+        removedDuringCompactionCount = 0;
+        return rows.count;
+    }
+
+    /*
+     * Copies the live rows, in order and with their sequence numbers. The copy is linear in the live rows, and at
+     * least as many removals preceded it; it reads rows that are only ever appended to or marked removed, so it needs
+     * no lock. Under the lock it then copies the rows appended meanwhile, marks the rows removed meanwhile, found by
+     * sequence number, and replaces the rows, so writers only wait for that catch-up. Not a mutation, so it is not
+     * logged.
+     */
+    private void compact(int end) {
+        final var source = rows;
+        Rows compacted = null;
+        int next = 0;
+        try {
+            compacted = new Rows();
+            next = copyLive(source, 0, end, compacted, 0);
+            compactionCopied.run();
+        } finally {
+            writeLock.lock();
+            try {
+                if (compacted != null) {
+                    next = copyLive(source, end, source.count, compacted, next);
+                    for (int i = 0; i < removedDuringCompactionCount; i++) {
+                        final long sequence = removedDuringCompaction[i];
+                        final int row = compacted.firstAfter(sequence - 1, next);
+                        if (row < next && compacted.sequences.getLong(row) == sequence) {
+                            compacted.removed.putByte(row, (byte) 1);
+                        }
+                    }
+                    compacted.count = next;
+                    rows = compacted;
+                }
+            } finally {
+                removedDuringCompaction = null;
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return the row after the last one copied
+     */
+    private static int copyLive(Rows source, int from, int to, Rows target, int next) {
+        for (int row = from; row < to; row++) {
+            if (!source.isRemoved(row)) {
+                target.copy(next++, source, row);
+            }
+        }
+        return next;
+    }
+
+    private int titleId(String title) {
+        if (title == null) {
+            return NO_TITLE;
+        }
+        Integer id = titleIds.get(title);
+        if (id == null) {
+            id = titleIds.size();
+            String[] table = titleTable;
+            if (id == table.length) {
+                table = Arrays.copyOf(table, id * 2);
+            }
+            table[id] = title;
+            titleTable = table;
+            titleIds.put(title, id);
+        }
+        return id;
+    }
+
+    private MockEmployee employee(Rows rows, int row) {
+        final long high = rows.idHigh.getLong(row);
+        final long low = rows.idLow.getLong(row);
+        final int title = rows.titles.getInt(row);
+        return MockEmployee.builder()
+                .id(high == 0 && low == 0 ? null : new UUID(high, low))
+                .name(rows.strings.get(rows.names.getLong(row)))
+                .salary(nullable(rows.salaries.getInt(row)))
+                .age(nullable(rows.ages.getInt(row)))
+                .title(title == NO_TITLE ? null : titleTable[title])
+                .email(rows.strings.get(rows.emails.getLong(row)))
+                .build();
+    }
+
+    /*
+     * Compares bytes in place when both the fragment and the name are ASCII, which is the common case, and falls back
+     * to Java's case-insensitive comparison on the decoded name otherwise.
+     */
+    private static boolean nameContains(OffHeapStringArena strings, long name, String fragment, byte[] asciiFragment) {
+        final int ascii = asciiFragment == null
+                ? OffHeapStringArena.NOT_ASCII
+                : strings.containsIgnoreAsciiCase(name, asciiFragment);
+        if (ascii != OffHeapStringArena.NOT_ASCII) {
+            return ascii == OffHeapStringArena.MATCH;
+        }
+        final String decoded = strings.get(name);
+        for (int offset = 0; offset + fragment.length() <= decoded.length(); offset++) {
+            if (decoded.regionMatches(true, offset, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] asciiLowerCase(String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] < 0) {
+                return null;
+            }
+            bytes[i] = OffHeapStringArena.toLowerAscii(bytes[i]);
+        }
+        return bytes;
+    }
+
+    private static Integer nullable(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int hash(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (value ^ (value >>> 33));
+    }
+
+    private static ByteBuffer slots(int capacity, int slotBytes) {
+        if (capacity > MAX_INDEX_CAPACITY) {
+            throw new IllegalStateException("Columnar employee store index is full.");
+        }
+        return ByteBuffer.allocateDirect(capacity * slotBytes).order(ByteOrder.nativeOrder());
+    }
+
+    /*
+     * The columns, strings and indexes of one generation of rows. The sequence column is ascending, since rows are
+     * appended in sequence order and a compaction keeps that order.
+     */
+    private final class Rows {
+
+        private final OffHeapColumn sequences = new OffHeapColumn(Long.BYTES);
+        private final OffHeapColumn idHigh = new OffHeapColumn(Long.BYTES);
+        private final OffHeapColumn idLow = new OffHeapColumn(Long.BYTES);
+        private final OffHeapColumn salaries = new OffHeapColumn(Integer.BYTES);
+        private final OffHeapColumn ages = new OffHeapColumn(Integer.BYTES);
+        private final OffHeapColumn titles = new OffHeapColumn(Integer.BYTES);
+        private final OffHeapColumn names = new OffHeapColumn(Long.BYTES);
+        private final OffHeapColumn emails = new OffHeapColumn(Long.BYTES);
+        private final OffHeapColumn nextByName = new OffHeapColumn(Integer.BYTES);
+        private final OffHeapColumn removed = new OffHeapColumn(Byte.BYTES);
+        private final List<OffHeapColumn> columns =
+                List.of(sequences, idHigh, idLow, salaries, ages, titles, names, emails, nextByName, removed);
+        private final OffHeapStringArena strings = new OffHeapStringArena();
+
+        private NameIndex byName = new NameIndex(INITIAL_INDEX_CAPACITY);
+
+        private volatile IdIndex byId = new IdIndex(INITIAL_INDEX_CAPACITY);
+
+        /*
+         * Published after a row is written, so a reader that sees the count also sees the row.
+         */
+        private volatile int count;
+
+        /**
+         * Writes a row and indexes it, without publishing it. An employee without an id is stored with the nil UUID's
+         * bits and is not indexed by id.
+         *
+         * @return the row that had the same id, or {@link #NO_ROW}
+         */
+        int write(int row, long sequence, MockEmployee employee) {
+            final var id = employee.getId();
+            return put(
+                    row,
+                    sequence,
+                    id != null,
+                    id == null ? 0 : id.getMostSignificantBits(),
+                    id == null ? 0 : id.getLeastSignificantBits(),
+                    employee.getSalary() == null ? NULL_INT : employee.getSalary(),
+                    employee.getAge() == null ? NULL_INT : employee.getAge(),
+                    titleId(employee.getTitle()),
+                    employee.getName(),
+                    employee.getEmail());
+        }
+
+        /**
+         * Like {@link #write}, for row {@code sourceRow} of another generation. Takes its title id as is, so unlike
+         * {@code write} it touches no state shared with writers and needs no lock.
+         */
+        int copy(int row, Rows source, int sourceRow) {
+            final long high = source.idHigh.getLong(sourceRow);
+            final long low = source.idLow.getLong(sourceRow);
+            return put(
+                    row,
+                    source.sequences.getLong(sourceRow),
+                    high != 0 || low != 0,
+                    high,
+                    low,
+                    source.salaries.getInt(sourceRow),
+                    source.ages.getInt(sourceRow),
+                    source.titles.getInt(sourceRow),
+                    source.strings.get(source.names.getLong(sourceRow)),
+                    source.strings.get(source.emails.getLong(sourceRow)));
+        }
+
+        private int put(
+                int row,
+                long sequence,
+                boolean hasId,
+                long high,
+                long low,
+                int salary,
+                int age,
+                int title,
+                String name,
+                String email) {
+            columns.forEach(column -> column.ensureCapacity(row + 1));
+            sequences.putLong(row, sequence);
+            idHigh.putLong(row, high);
+            idLow.putLong(row, low);
+            salaries.putInt(row, salary);
+            ages.putInt(row, age);
+            titles.putInt(row, title);
+            names.putLong(row, strings.add(name));
+            emails.putLong(row, strings.add(email));
+            nextByName.putInt(row, NO_ROW);
+            removed.putByte(row, (byte) 0);
+            int replaced = NO_ROW;
+            if (hasId) {
+                if (byId.isFull()) {
+                    byId = byId.resized();
+                }
+                replaced = byId.put(row, high, low);
+            }
+            if (name != null) {
+                final String key = nameKey(name);
+                if (byName.isFull()) {
+                    byName = byName.resized();
+                }
+                byName.append(row, key, hash(key.hashCode()));
+            }
+            return replaced;
+        }
+
+        boolean isRemoved(int row) {
+            return removed.getByte(row) != 0;
+        }
+
+        /**
+         * @return the first row before {@code end} with a sequence number above {@code sequence}, or {@code end}
+         */
+        int firstAfter(long sequence, int end) {
+            int low = 0;
+            int high = end;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (sequences.getLong(middle) <= sequence) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /*
+         * Per slot the hash of the id and row + 1 (0 for empty), keyed by the id columns of that row; the hash spares
+         * a column read for most mismatching probes. Slots are never cleared: the slot of a removed employee keeps
+         * pointing at its row until the next compaction, and re-adding the id points it at the new row. Rows are
+         * written with release and read with acquire semantics, so a reader that finds a row also sees it written;
+         * growing publishes a complete new index.
+         */
+        private final class IdIndex {
+
+            private static final int SLOT_BYTES = 2 * Integer.BYTES;
+
+            private final ByteBuffer slots;
+            private final int mask;
+            private int occupied;
+
+            IdIndex(int capacity) {
+                this.slots = slots(capacity, SLOT_BYTES);
+                this.mask = capacity - 1;
+            }
+
+            int find(long high, long low) {
+                final int hash = hash(high ^ low);
+                for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                    final int entry = (int) SLOT.getAcquire(slots, slot * SLOT_BYTES + Integer.BYTES);
+                    if (entry == 0) {
+                        return NO_ROW;
+                    }
+                    if (slots.getInt(slot * SLOT_BYTES) == hash && isId(entry - 1, high, low)) {
+                        return entry - 1;
+                    }
+                }
+            }
+
+            /**
+             * @return the row that had the same id, or {@link #NO_ROW}
+             */
+            int put(int row, long high, long low) {
+                final int hash = hash(high ^ low);
+                for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                    final int entry = slots.getInt(slot * SLOT_BYTES + Integer.BYTES);
+                    if (entry == 0) {
+                        occupied++;
+                        slots.putInt(slot * SLOT_BYTES, hash);
+                    } else if (slots.getInt(slot * SLOT_BYTES) != hash || !isId(entry - 1, high, low)) {
+                        continue;
+                    }
+                    SLOT.setRelease(slots, slot * SLOT_BYTES + Integer.BYTES, row + 1);
+                    return entry - 1;
+                }
+            }
+
+            boolean isFull() {
+                return (occupied + 1) * 4L > (mask + 1) * 3L;
+            }
+
+            IdIndex resized() {
+                final var resized = new IdIndex((mask + 1) * 2);
+                for (int slot = 0; slot <= mask; slot++) {
+                    final int entry = slots.getInt(slot * SLOT_BYTES + Integer.BYTES);
+                    if (entry != 0) {
+                        resized.put(entry - 1, idHigh.getLong(entry - 1), idLow.getLong(entry - 1));
+                    }
+                }
+                return resized;
+            }
+
+            private boolean isId(int row, long high, long low) {
+                return idHigh.getLong(row) == high && idLow.getLong(row) == low;
+            }
+        }
+
+        /*
+         * Per slot the hash of a name key and the head and tail row + 1 of the chain of rows with that name key,
+         * linked through nextByName in insertion order. A chain keeps its last row even once that row is removed, so
+         * the slot stays keyed by the name of its head row. Only used by writers.
+         */
+        private final class NameIndex {
+
+            private static final int SLOT_BYTES = 3 * Integer.BYTES;
+
+            private final ByteBuffer slots;
+            private final int mask;
+            private int occupied;
+
+            NameIndex(int capacity) {
+                this.slots = slots(capacity, SLOT_BYTES);
+                this.mask = capacity - 1;
+            }
+
+            void append(int row, String key, int hash) {
+                final int slot = find(key, hash);
+                final int head = head(slot);
+                if (head == NO_ROW) {
+                    occupied++;
+                    set(slot, hash, row, row);
+                } else {
+                    nextByName.putInt(tail(slot), row);
+                    set(slot, hash, head, row);
+                }
+            }
+
+            /**
+             * @return the earliest row with the name key that is not removed, or {@link #NO_ROW}
+             */
+            int firstLive(String key, int hash) {
+                final int slot = find(key, hash);
+                int row = head(slot);
+                if (row == NO_ROW) {
+                    return NO_ROW;
+                }
+                while (isRemoved(row) && nextByName.getInt(row) != NO_ROW) {
+                    row = nextByName.getInt(row);
+                }
+                set(slot, hash, row, tail(slot));
+                return isRemoved(row) ? NO_ROW : row;
+            }
+
+            boolean isFull() {
+                return (occupied + 1) * 4L > (mask + 1) * 3L;
+            }
+
+            NameIndex resized() {
+                final var resized = new NameIndex((mask + 1) * 2);
+                for (int slot = 0; slot <= mask; slot++) {
+                    final int head = head(slot);
+                    if (head != NO_ROW) {
+                        final int hash = hash(slot);
+                        int target = hash & resized.mask;
+                        while (resized.head(target) != NO_ROW) {
+                            target = (target + 1) & resized.mask;
+                        }
+                        resized.set(target, hash, head, tail(slot));
+                        resized.occupied++;
+                    }
+                }
+                return resized;
+            }
+
+            private int find(String key, int hash) {
+                for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                    final int head = head(slot);
+                    if (head == NO_ROW
+                            || (hash(slot) == hash && key.equals(nameKey(strings.get(names.getLong(head)))))) {
+                        return slot;
+                    }
+                }
+            }
+
+            private int hash(int slot) {
+                return slots.getInt(slot * SLOT_BYTES);
+            }
+
+            private int head(int slot) {
+                return slots.getInt(slot * SLOT_BYTES + Integer.BYTES) - 1;
+            }
+
+            private int tail(int slot) {
+                return slots.getInt(slot * SLOT_BYTES + 2 * Integer.BYTES) - 1;
+            }
+
+            private void set(int slot, int hash, int head, int tail) {
+                slots.putInt(slot * SLOT_BYTES, hash);
+                slots.putInt(slot * SLOT_BYTES + Integer.BYTES, head + 1);
+                slots.putInt(slot * SLOT_BYTES + 2 * Integer.BYTES, tail + 1);
+            }
+        }
+    }
+
+    /*
+     * Iterates the rows published when it was created, skipping removed ones. A compaction meanwhile does not
+     * disturb it, since it keeps reading the rows it started on.
+     */
+    private final class RowIterator implements Iterator<MockEmployee> {
+
+        private final Rows rows;
+        private final int end;
+        private int next;
+
+        RowIterator(Rows rows) {
+            this.rows = rows;
+            this.end = rows.count;
+            this.next = skipRemoved(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public MockEmployee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final var employee = employee(rows, next);
+            next = skipRemoved(next + 1);
+            return employee;
+        }
+
+        private int skipRemoved(int row) {
+            while (row < end && rows.isRemoved(row)) {
+                row++;
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/**
+ * {@link MockEmployeeStore} of plain {@link MockEmployee} objects. Employees are kept in insertion order under a
+ * monotonically increasing sequence number, with an O(1) index by id, a case-insensitive index by name and a
+ * salary-ordered index. Mutations are serialized by a single lock; reads never block and see a weakly consistent
+ * view while a write is in progress.
+ */
+public final class HeapMockEmployeeStore implements MockEmployeeStore {
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentNavigableMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Indexed> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<SalaryKey> bySalary = new ConcurrentSkipListSet<>();
+
+    /*
+     * Only consulted by writers, so it is guarded by the write lock rather than being concurrent itself.
+     */
+    private final Map<String, NavigableSet<Long>> sequencesByName = new HashMap<>();
+
+    private long lastSequence;
+
+    private volatile long version;
+
+    private volatile MockEmployeeMutationLog mutationLog = MockEmployeeMutationLog.NONE;
+
+    @Override
+    public void setMutationLog(@NonNull MockEmployeeMutationLog mutationLog) {
+        this.mutationLog = mutationLog;
+    }
+
+    @Override
+    public void sync() {
+        mutationLog.sync();
+    }
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return Collections.unmodifiableCollection(bySequence.values());
+    }
+
+    @Override
+    public Page page(long afterSequence, int limit) {
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        long lastSequence = afterSequence;
+        for (Map.Entry<Long, MockEmployee> entry : bySequence.tailMap(afterSequence, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, lastSequence, true);
+            }
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Page(employees, lastSequence, false);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Indexed::employee);
+    }
+
+    @Override
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        final var matches = new ArrayList<MockEmployee>();
+        for (MockEmployee employee : bySequence.values()) {
+            if (employee.getName() != null && containsIgnoreCase(employee.getName(), fragment)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public Optional<Integer> highestSalary() {
+        for (SalaryKey key : bySalary) {
+            return Optional.of(key.salary());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<MockEmployee> topBySalary(int limit) {
+        final var top = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (SalaryKey key : bySalary) {
+            if (top.size() == limit) {
+                break;
+            }
+            // Skips an employee whose removal is still in progress.
+            final var employee = bySequence.get(key.sequence());
+            if (employee != null) {
+                top.add(employee);
+            }
+        }
+        return top;
+    }
+
+    @Override
+    public int size() {
+        return bySequence.size();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            return link(employee);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            employees.forEach(this::link);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            return unlinkFirstByName(name);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            Indexed indexed = byId.remove(id);
+            if (indexed == null) {
+                return Optional.empty();
+            }
+            unlink(indexed.sequence(), indexed.employee());
+            mutationLog.removed(++version, indexed.employee());
+            return Optional.of(indexed.employee());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> removeFirstByNames(@NonNull List<String> names) {
+        writeLock.lock();
+        try {
+            mutationLog.checkWritable();
+            final var removed = new ArrayList<Optional<MockEmployee>>(names.size());
+            names.forEach(name -> removed.add(unlinkFirstByName(name)));
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * link and unlinkFirstByName must be called with the write lock held, which also keeps the mutation log in the
+     * order mutations were applied. The version is bumped once a mutation is visible, so a reader that sees a
+     * version also sees every mutation up to it.
+     */
+    private MockEmployee link(MockEmployee employee) {
+        long sequence = ++lastSequence;
+        if (employee.getId() != null) {
+            Indexed replaced = byId.put(employee.getId(), new Indexed(sequence, employee));
+            if (replaced != null) {
+                unlink(replaced.sequence(), replaced.employee());
+            }
+        }
+        if (employee.getName() != null) {
+            sequencesByName.computeIfAbsent(nameKey(employee.getName()), ignored -> new TreeSet<>()).add(sequence);
+        }
+        if (employee.getSalary() != null) {
+            bySalary.add(new SalaryKey(employee.getSalary(), sequence));
+        }
+        bySequence.put(sequence, employee);
+        mutationLog.added(++version, employee);
+        return employee;
+    }
+
+    private Optional<MockEmployee> unlinkFirstByName(String name) {
+        NavigableSet<Long> sequences = sequencesByName.get(nameKey(name));
+        if (sequences == null || sequences.isEmpty()) {
+            return Optional.empty();
+        }
+        long sequence = sequences.first();
+        MockEmployee removed = bySequence.get(sequence);
+        unlink(sequence, removed);
+        if (removed.getId() != null) {
+            byId.remove(removed.getId());
+        }
+        mutationLog.removed(++version, removed);
+        return Optional.of(removed);
+    }
+
+    private void unlink(long sequence, MockEmployee employee) {
+        bySequence.remove(sequence);
+        if (employee.getSalary() != null) {
+            bySalary.remove(new SalaryKey(employee.getSalary(), sequence));
+        }
+        if (employee.getName() != null) {
+            String key = nameKey(employee.getName());
+            NavigableSet<Long> sequences = sequencesByName.get(key);
+            if (sequences != null) {
+                sequences.remove(sequence);
+                if (sequences.isEmpty()) {
+                    sequencesByName.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsIgnoreCase(String name, String fragment) {
+        for (int offset = 0; offset + fragment.length() <= name.length(); offset++) {
+            if (name.regionMatches(true, offset, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Indexed(long sequence, MockEmployee employee) {}
+
+    private record SalaryKey(int salary, long sequence) implements Comparable<SalaryKey> {
+
+        @Override
+        public int compareTo(SalaryKey other) {
+            final int bySalaryDescending = Integer.compare(other.salary, salary);
+            return bySalaryDescending != 0 ? bySalaryDescending : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.service;
+
+/**
+ * A request parameter the caller got wrong, such as a page size out of range or a cursor this service did not issue.
+ * Answered with 400 Bad Request; any other exception is a server error.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
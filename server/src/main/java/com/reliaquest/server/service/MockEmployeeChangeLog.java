@@ -0,0 +1,98 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded record of the most recent creates and deletes, fed by the store as a {@link MockEmployeeMutationLog}. The
+ * last {@code capacity} changes are kept in a ring indexed by store version; a reader further behind than that has to
+ * reload the roster in full.
+ *
+ * <p>Store versions are contiguous, so the log can answer for any version from its floor, the version before its
+ * oldest retained change, up to the latest. Should it ever see a gap in versions it restarts from the new version
+ * rather than serve changes with a hole in them.
+ */
+public final class MockEmployeeChangeLog implements MockEmployeeMutationLog {
+
+    private final MockEmployeeChange[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long floor;
+    private long latest;
+
+    public MockEmployeeChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive.");
+        }
+        this.ring = new MockEmployeeChange[capacity];
+    }
+
+    /**
+     * Empties the log and positions it at {@code version}, the store's version when the log is attached to it.
+     */
+    public void startAt(long version) {
+        lock.lock();
+        try {
+            Arrays.fill(ring, null);
+            floor = version;
+            latest = version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void added(long version, MockEmployee employee) {
+        record(new MockEmployeeChange(version, MockEmployeeChange.Type.CREATED, employee));
+    }
+
+    @Override
+    public void removed(long version, MockEmployee employee) {
+        record(new MockEmployeeChange(version, MockEmployeeChange.Type.DELETED, employee));
+    }
+
+    @Override
+    public void sync() {}
+
+    /**
+     * @return every change after {@code version}, oldest first, or {@code null} if they are not all retained or
+     *     {@code version} is ahead of the log
+     */
+    public List<MockEmployeeChange> since(long version) {
+        lock.lock();
+        try {
+            if (version < floor || version > latest) {
+                return null;
+            }
+            final var changes = new ArrayList<MockEmployeeChange>((int) (latest - version));
+            for (long next = version + 1; next <= latest; next++) {
+                changes.add(ring[slot(next)]);
+            }
+            return changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(MockEmployeeChange change) {
+        lock.lock();
+        try {
+            if (change.version() != latest + 1) {
+                floor = change.version() - 1;
+            }
+            latest = change.version();
+            ring[slot(latest)] = change;
+            floor = Math.max(floor, latest - ring.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long version) {
+        return (int) Math.floorMod(version, (long) ring.length);
+    }
+}
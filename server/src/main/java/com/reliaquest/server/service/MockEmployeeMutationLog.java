@@ -0,0 +1,70 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * Receives every mutation of a {@link MockEmployeeStore} in the order they were applied, each with the store
+ * {@link MockEmployeeStore#version() version} it produced. {@link #added} and {@link #removed} are called under the
+ * store's write lock and must not block on I/O; {@link #sync} is called outside it and blocks until everything logged
+ * so far is durable. A log that can no longer accept mutations refuses them in {@link #checkWritable}, which the store
+ * calls under its write lock before applying a mutation, so a refused mutation leaves the store unchanged.
+ */
+public interface MockEmployeeMutationLog {
+
+    MockEmployeeMutationLog NONE = new MockEmployeeMutationLog() {
+        @Override
+        public void added(long version, MockEmployee employee) {}
+
+        @Override
+        public void removed(long version, MockEmployee employee) {}
+
+        @Override
+        public void sync() {}
+    };
+
+    /**
+     * An employee was added, or replaced the employee with the same id.
+     */
+    void added(long version, MockEmployee employee);
+
+    void removed(long version, MockEmployee employee);
+
+    void sync();
+
+    /**
+     * @throws RuntimeException if mutations can no longer be logged
+     */
+    default void checkWritable() {}
+
+    /**
+     * @return a log that reports each mutation to this log, then to {@code next}
+     */
+    default MockEmployeeMutationLog andThen(MockEmployeeMutationLog next) {
+        final var first = this;
+        return new MockEmployeeMutationLog() {
+            @Override
+            public void added(long version, MockEmployee employee) {
+                first.added(version, employee);
+                next.added(version, employee);
+            }
+
+            @Override
+            public void removed(long version, MockEmployee employee) {
+                first.removed(version, employee);
+                next.removed(version, employee);
+            }
+
+            @Override
+            public void sync() {
+                first.sync();
+                next.sync();
+            }
+
+            @Override
+            public void checkWritable() {
+                first.checkWritable();
+                next.checkWritable();
+            }
+        };
+    }
+}
@@ -1,14 +1,21 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchItemResponse;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,16 +27,129 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 10_000;
+    public static final int MAX_BATCH_SIZE = 10_000;
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Validator validator;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    /*
+     * Store versions restart with the process, so entity tags carry the start time too: a tag from an earlier run
+     * never matches, even when the restarted store happens to reach the same version.
+     */
+    private final String rosterEpoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    public Collection<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.findAll();
+    }
+
+    /**
+     * @return an opaque token for the roster as it is now; it changes with every create or delete
+     */
+    public String getRosterVersion() {
+        return getRosterVersion(mockEmployeeStore.version());
+    }
+
+    /**
+     * @return the token for the given store version, as {@link #getRosterVersion()} would have returned at that version
+     */
+    public String getRosterVersion(long version) {
+        return rosterEpoch + "-" + version;
+    }
+
+    /**
+     * @return a strong entity tag for the roster as it is now, the quoted {@link #getRosterVersion() version}
+     */
+    public String getRosterETag() {
+        return "\"" + getRosterVersion() + "\"";
+    }
+
+    /**
+     * @param since a roster version, as returned by {@link #getRosterVersion()} or an earlier call, or the roster's
+     *     entity tag
+     * @return the creates and deletes made since that version, or a resync marker if they are no longer known
+     * @throws InvalidRequestException if {@code since} is not a roster version
+     */
+    public MockEmployeeChanges getChangesSince(@NonNull String since) {
+        final var unquoted = unquote(since);
+        final int separator = unquoted.lastIndexOf('-');
+        final long version;
+        try {
+            version = Long.parseLong(unquoted.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid roster version.", e);
+        }
+        if (separator < 0 || !unquoted.substring(0, separator).equals(rosterEpoch)) {
+            return MockEmployeeChanges.resync();
+        }
+        final var changes = changeLog.since(version);
+        if (changes == null) {
+            return MockEmployeeChanges.resync();
+        }
+        return new MockEmployeeChanges(getRosterVersion(version + changes.size()), false, changes);
+    }
+
+    /**
+     * @param since a roster version or entity tag, as for {@link #getChangesSince(String)}, possibly {@code null}
+     * @return whether a change feed request from that version would be answered with no changes
+     */
+    public boolean isRosterVersionCurrent(String since) {
+        return since != null && unquote(since).equals(getRosterVersion());
+    }
+
+    /**
+     * @param ifNoneMatch the value of an If-None-Match header, possibly {@code null}
+     * @return whether a roster request carrying that header would be answered 304 Not Modified
+     */
+    public boolean isRosterUnchanged(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        final var current = getRosterETag();
+        for (String tag : ifNoneMatch.split(",")) {
+            final var trimmed = tag.trim();
+            // If-None-Match uses weak comparison, and compressing responses turns strong tags weak in transit.
+            if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cursor opaque continuation token from the previous page, or {@code null} for the first page
+     * @throws InvalidRequestException if the page size is out of range or the cursor was not issued by this service
+     */
+    public MockEmployeePage getMockEmployeePage(int size, String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and %d.".formatted(MAX_PAGE_SIZE));
+        }
+        final var page = mockEmployeeStore.page(decodeCursor(cursor), size);
+        return new MockEmployeePage(page.employees(), page.hasMore() ? encodeCursor(page.lastSequence()) : null);
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        return mockEmployeeStore.searchByName(fragment);
+    }
+
+    public Optional<Integer> getHighestSalary() {
+        return mockEmployeeStore.highestSalary();
+    }
+
+    public List<MockEmployee> getTopEarners(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE));
+        }
+        return mockEmployeeStore.topBySalary(limit);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +157,134 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mockEmployeeStore.add(mockEmployee);
+        mockEmployeeStore.sync();
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every valid input in one store write; invalid inputs are reported individually and do not fail the
+     * rest of the batch.
+     *
+     * @throws InvalidRequestException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}
+     */
+    public List<BatchItemResponse<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var results = new ArrayList<BatchItemResponse<MockEmployee>>(inputs.size());
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var input = inputs.get(index);
+            final var violations = violations(input);
+            if (violations != null) {
+                results.add(BatchItemResponse.error(index, violations));
+                continue;
+            }
+            final var mockEmployee = MockEmployee.from(
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()),
+                    input);
+            created.add(mockEmployee);
+            results.add(BatchItemResponse.handledWith(index, mockEmployee));
+        }
+        mockEmployeeStore.addAll(created);
+        mockEmployeeStore.sync();
+        log.debug("Added {} of {} employees in batch.", created.size(), inputs.size());
+        return results;
+    }
+
+    /**
+     * Deletes by name in one store write, reporting the removed employee for each input.
+     *
+     * @throws InvalidRequestException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}
+     */
+    public List<BatchItemResponse<MockEmployee>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var results = new ArrayList<BatchItemResponse<MockEmployee>>(inputs.size());
+        final var names = new ArrayList<String>(inputs.size());
+        final var positions = new ArrayList<Integer>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var violations = violations(inputs.get(index));
+            results.add(violations == null ? null : BatchItemResponse.error(index, violations));
+            if (violations == null) {
+                names.add(inputs.get(index).getName());
+                positions.add(index);
+            }
+        }
+        final var removed = mockEmployeeStore.removeFirstByNames(names);
+        mockEmployeeStore.sync();
+        for (int i = 0; i < removed.size(); i++) {
+            final int index = positions.get(i);
+            final var name = names.get(i);
+            results.set(
+                    index,
+                    removed.get(i)
+                            .map(employee -> BatchItemResponse.handledWith(index, employee))
+                            .orElseGet(() -> BatchItemResponse.error(index, "No employee named " + name)));
+        }
+        log.debug("Removed employees in batch of {}.", inputs.size());
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
+            mockEmployeeStore.sync();
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /*
+     * A version may be given as an entity tag, weak or strong, or bare.
+     */
+    private static String unquote(String version) {
+        final var token = version.startsWith("W/") ? version.substring(2) : version;
+        return token.length() > 1 && token.startsWith("\"") && token.endsWith("\"")
+                ? token.substring(1, token.length() - 1)
+                : token;
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Batch size must be between 1 and %d.".formatted(MAX_BATCH_SIZE));
+        }
+    }
+
+    /*
+     * Batch bodies are bound as plain lists, so each item is validated here rather than by @Valid; this keeps one bad
+     * item from rejecting the whole request.
+     */
+    private <T> String violations(T input) {
+        if (input == null) {
+            return "Item must not be null.";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String encodeCursor(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page cursor.", e);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Thread-safe home of the mock roster. Employees are kept in insertion order under a monotonically increasing
+ * sequence number. Mutations are serialized; reads see a weakly consistent view while a write is in progress.
+ *
+ * @see HeapMockEmployeeStore
+ * @see ColumnarMockEmployeeStore
+ */
+public interface MockEmployeeStore {
+
+    /**
+     * Starts reporting mutations to {@code mutationLog}; mutations made before are not reported.
+     */
+    void setMutationLog(@NonNull MockEmployeeMutationLog mutationLog);
+
+    /**
+     * Blocks until every mutation made so far is durable in the mutation log, if there is one.
+     */
+    void sync();
+
+    /**
+     * @return a live, unmodifiable view of all employees in insertion order
+     */
+    Collection<MockEmployee> findAll();
+
+    /**
+     * Returns up to {@code limit} employees added after {@code afterSequence}, in insertion order. Sequences are never
+     * reused, so paging by the last returned sequence is stable under concurrent creates and deletes.
+     */
+    Page page(long afterSequence, int limit);
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    /**
+     * @return employees whose name contains {@code fragment}, ignoring case, in insertion order
+     */
+    List<MockEmployee> searchByName(@NonNull String fragment);
+
+    Optional<Integer> highestSalary();
+
+    /**
+     * @return up to {@code limit} employees by descending salary, ties in insertion order
+     */
+    List<MockEmployee> topBySalary(int limit);
+
+    int size();
+
+    /**
+     * @return a number that every mutation increases; equal versions of the same store mean an unchanged roster
+     */
+    long version();
+
+    /**
+     * Adds {@code employee}, replacing any employee with the same id.
+     */
+    MockEmployee add(@NonNull MockEmployee employee);
+
+    /**
+     * Adds all employees in order under a single acquisition of the write lock.
+     */
+    void addAll(@NonNull List<MockEmployee> employees);
+
+    /**
+     * Removes the earliest added employee whose name matches, ignoring case.
+     */
+    Optional<MockEmployee> removeFirstByName(@NonNull String name);
+
+    Optional<MockEmployee> removeById(@NonNull UUID id);
+
+    /**
+     * Applies {@link #removeFirstByName(String)} to each name in order under a single acquisition of the write lock,
+     * so a name listed twice removes two employees of that name.
+     *
+     * @return the removed employee per name, in the order of {@code names}
+     */
+    List<Optional<MockEmployee>> removeFirstByNames(@NonNull List<String> names);
+
+    record Page(List<MockEmployee> employees, long lastSequence, boolean hasMore) {}
+}
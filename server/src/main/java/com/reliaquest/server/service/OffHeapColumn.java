@@ -0,0 +1,69 @@
+package com.reliaquest.server.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fixed-width column of primitives in direct memory, allocated in pages of {@value #PAGE_ROWS} rows so it grows
+ * without copying. Only one thread may write; readers must learn the row count through a happens-before edge with
+ * the writer (a volatile count or a released index slot), which also makes the pages they read visible.
+ */
+final class OffHeapColumn {
+
+    static final int PAGE_ROWS = 1 << 16;
+
+    private final int width;
+    private ByteBuffer[] pages = new ByteBuffer[16];
+    private int capacity;
+
+    OffHeapColumn(int width) {
+        this.width = width;
+    }
+
+    /**
+     * Allocates pages until {@code rows} rows fit.
+     */
+    void ensureCapacity(int rows) {
+        while (capacity < rows) {
+            final int page = capacity / PAGE_ROWS;
+            if (page == pages.length) {
+                pages = Arrays.copyOf(pages, page * 2);
+            }
+            pages[page] = ByteBuffer.allocateDirect(PAGE_ROWS * width).order(ByteOrder.nativeOrder());
+            capacity += PAGE_ROWS;
+        }
+    }
+
+    byte getByte(int row) {
+        return page(row).get(offset(row));
+    }
+
+    void putByte(int row, byte value) {
+        page(row).put(offset(row), value);
+    }
+
+    int getInt(int row) {
+        return page(row).getInt(offset(row));
+    }
+
+    void putInt(int row, int value) {
+        page(row).putInt(offset(row), value);
+    }
+
+    long getLong(int row) {
+        return page(row).getLong(offset(row));
+    }
+
+    void putLong(int row, long value) {
+        page(row).putLong(offset(row), value);
+    }
+
+    private ByteBuffer page(int row) {
+        return pages[row / PAGE_ROWS];
+    }
+
+    private int offset(int row) {
+        return (row % PAGE_ROWS) * width;
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.server.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only UTF-8 strings in direct memory. Each string is stored once as a length-prefixed byte run and
+ * addressed by a {@code long} of page and offset; there is no per-string object. Strings are never freed one by
+ * one: an owner reclaims space by copying the strings it still uses into a new arena and dropping the old one, whose
+ * pages are freed once unreachable. Only one thread may append; like {@link OffHeapColumn}, readers must learn an
+ * address through a happens-before edge with the writer.
+ */
+final class OffHeapStringArena {
+
+    static final long NULL = -1;
+
+    static final int NO_MATCH = 0;
+    static final int MATCH = 1;
+    static final int NOT_ASCII = -1;
+
+    private static final int PAGE_BYTES = 1 << 22;
+
+    private ByteBuffer[] pages = new ByteBuffer[16];
+    private int pageCount;
+    private int used;
+
+    long add(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        final int size = Integer.BYTES + encoded.length;
+        if (pageCount == 0 || pages[pageCount - 1].capacity() - used < size) {
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, pageCount * 2);
+            }
+            // A string larger than a page gets a page of its own.
+            pages[pageCount++] = ByteBuffer.allocateDirect(Math.max(PAGE_BYTES, size)).order(ByteOrder.nativeOrder());
+            used = 0;
+        }
+        final var page = pages[pageCount - 1];
+        final long address = ((long) (pageCount - 1) << 32) | used;
+        page.putInt(used, encoded.length);
+        page.put(used + Integer.BYTES, encoded);
+        used += size;
+        return address;
+    }
+
+    String get(long address) {
+        if (address == NULL) {
+            return null;
+        }
+        final var page = page(address);
+        final int offset = offset(address);
+        final byte[] encoded = new byte[page.getInt(offset)];
+        page.get(offset + Integer.BYTES, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Case-insensitive substring test without decoding, for strings that are ASCII.
+     *
+     * @param fragment ASCII bytes in lower case
+     * @return {@link #MATCH} or {@link #NO_MATCH}, or {@link #NOT_ASCII} if the string has to be decoded to compare
+     */
+    int containsIgnoreAsciiCase(long address, byte[] fragment) {
+        final var page = page(address);
+        final int start = offset(address) + Integer.BYTES;
+        final int end = start + page.getInt(offset(address));
+        for (int index = start; index < end; index++) {
+            if (page.get(index) < 0) {
+                return NOT_ASCII;
+            }
+        }
+        for (int index = start; index + fragment.length <= end; index++) {
+            if (regionMatchesIgnoreAsciiCase(page, index, fragment)) {
+                return MATCH;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    static byte toLowerAscii(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    private static boolean regionMatchesIgnoreAsciiCase(ByteBuffer page, int index, byte[] fragment) {
+        for (int i = 0; i < fragment.length; i++) {
+            if (toLowerAscii(page.get(index + i)) != fragment[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer page(long address) {
+        return pages[(int) (address >>> 32)];
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,238 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeMutationLog;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes every create and delete to server-sent event subscribers. Fed by the store as a mutation log, so events
+ * arrive in version order under the store's write lock; there they are only offered to each subscriber's bounded
+ * buffer, and a per-subscriber sender task writes them out, so a slow client never holds up the store or the other
+ * subscribers.
+ *
+ * <p>A subscriber whose buffer overflows loses its buffered events and is sent a {@value #RESYNC_EVENT} event
+ * instead, after which it receives new events again; it is expected to reload the roster. Each
+ * {@value #CHANGE_EVENT} event carries the roster version it produced as its id, usable as {@code since} (or
+ * {@code Last-Event-ID}) when reconnecting. A comment is sent on idle streams every heartbeat interval so both sides
+ * notice a dead connection.
+ */
+@Slf4j
+public final class MockEmployeeChangeBroadcaster implements MockEmployeeMutationLog, AutoCloseable {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+    private final Supplier<SseEmitter> emitters;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public MockEmployeeChangeBroadcaster(int bufferSize, Duration heartbeat) {
+        this(bufferSize, heartbeat, () -> new SseEmitter(0L));
+    }
+
+    MockEmployeeChangeBroadcaster(int bufferSize, Duration heartbeat, Supplier<SseEmitter> emitters) {
+        if (bufferSize < 1 || heartbeat.isNegative() || heartbeat.isZero()) {
+            throw new IllegalArgumentException("Push buffer size and heartbeat must be positive.");
+        }
+        this.bufferSize = bufferSize;
+        this.emitters = emitters;
+        final var senderThreads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(
+                runnable -> daemon(runnable, "change-push-" + senderThreads.incrementAndGet()));
+        this.heartbeats =
+                Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "change-push-heartbeat"));
+        heartbeats.scheduleAtFixedRate(
+                this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream. The subscriber is registered before {@code backlog} is asked for, so no change falls between
+     * the backlog and the live events; changes that appear in both are sent once.
+     *
+     * @param backlog changes the subscriber has missed, a resync marker, or {@code null} to start with live events
+     * @param eventIds turns a store version into the roster version token sent as the event id
+     */
+    public SseEmitter subscribe(Supplier<MockEmployeeChanges> backlog, LongFunction<String> eventIds) {
+        final var emitter = emitters.get();
+        final var subscriber = new Subscriber(emitter, eventIds);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ignored -> subscribers.remove(subscriber));
+        final MockEmployeeChanges missed;
+        try {
+            missed = backlog.get();
+        } catch (RuntimeException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        }
+        subscriber.open(missed);
+        log.debug("Change stream opened, {} subscribers.", subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void added(long version, MockEmployee employee) {
+        publish(new MockEmployeeChange(version, MockEmployeeChange.Type.CREATED, employee));
+    }
+
+    @Override
+    public void removed(long version, MockEmployee employee) {
+        publish(new MockEmployeeChange(version, MockEmployeeChange.Type.DELETED, employee));
+    }
+
+    @Override
+    public void sync() {}
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void publish(MockEmployeeChange change) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(change);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            subscriber.schedule();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        final var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /*
+     * At most one sender task per subscriber runs at a time, guarded by sending; it is scheduled whenever there is
+     * something to send and reschedules itself if more arrived while it was finishing. sending starts out set so
+     * nothing is sent before the backlog is in place.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final LongFunction<String> eventIds;
+        private final ArrayBlockingQueue<MockEmployeeChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean(true);
+        private final AtomicBoolean resyncDue = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private List<MockEmployeeChange> backlog = List.of();
+        private long lastSentVersion = Long.MIN_VALUE;
+
+        private Subscriber(SseEmitter emitter, LongFunction<String> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+
+        private void open(MockEmployeeChanges missed) {
+            if (missed != null && missed.resyncRequired()) {
+                resyncDue.set(true);
+            } else if (missed != null) {
+                backlog = missed.changes();
+            }
+            sending.set(false);
+            schedule();
+        }
+
+        /*
+         * Called under the store's write lock: never blocks. A full buffer is dropped in favour of a resync.
+         */
+        private void offer(MockEmployeeChange change) {
+            if (!buffer.offer(change)) {
+                buffer.clear();
+                resyncDue.set(true);
+                log.debug("Change stream subscriber fell {} events behind, sending resync.", bufferSize);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                boolean sent = false;
+                for (MockEmployeeChange change : backlog) {
+                    sent |= send(change);
+                }
+                backlog = List.of();
+                while (true) {
+                    if (resyncDue.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                        sent = true;
+                    }
+                    final var change = buffer.poll();
+                    if (change == null) {
+                        break;
+                    }
+                    sent |= send(change);
+                }
+                if (heartbeatDue.getAndSet(false) && !sent) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The container reports the failure to the emitter's callbacks; just stop sending.
+                subscribers.remove(this);
+                log.debug("Change stream closed: {}", e.getMessage());
+                return;
+            }
+            sending.set(false);
+            if (!buffer.isEmpty() || resyncDue.get()) {
+                schedule();
+            }
+        }
+
+        private boolean send(MockEmployeeChange change) throws IOException {
+            if (change.version() <= lastSentVersion) {
+                return false;
+            }
+            emitter.send(SseEmitter.event()
+                    .name(CHANGE_EVENT)
+                    .id(eventIds.apply(change.version()))
+                    .data(change, MediaType.APPLICATION_JSON));
+            lastSentVersion = change.version();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Per-client token bucket: each client may make {@code limit} requests at once and then one more every
+ * {@code window / limit}, i.e. at most {@code limit} per sliding {@code window}. Clients are keyed by remote address.
+ * The {@value #CLIENT_ID_HEADER} header is only used as the key when {@code trustClientId} is set, e.g. behind a proxy
+ * that sets it: clients choose it, so a fresh id per request would otherwise bypass the limit.
+ *
+ * <p>The bucket is kept as a generic cell rate algorithm: a single theoretical arrival time per client, advanced with
+ * compare-and-set, so admission never locks. Every response carries the remaining quota; a rejection also carries
+ * {@code Retry-After}, the exact time until the next request would be admitted.
+ *
+ * <p>Requests matching the {@code exempt} predicate are neither charged nor given quota headers; it is meant for
+ * requests that will be answered without doing any work, such as conditional GETs that end in 304.
+ */
+@Slf4j
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final int limit;
+    private final long windowNanos;
+    private final long intervalNanos;
+    private final boolean trustClientId;
+    private final Predicate<HttpServletRequest> exempt;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final LongAdder rejected = new LongAdder();
+
+    public RequestLimitInterceptor(int limit, Duration window) {
+        this(limit, window, false, request -> false);
+    }
+
+    public RequestLimitInterceptor(
+            int limit, Duration window, boolean trustClientId, Predicate<HttpServletRequest> exempt) {
+        this(limit, window, trustClientId, exempt, System::nanoTime);
+    }
+
+    RequestLimitInterceptor(
+            int limit,
+            Duration window,
+            boolean trustClientId,
+            Predicate<HttpServletRequest> exempt,
+            LongSupplier nanoClock) {
+        if (limit < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Request limit and window must be positive.");
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.intervalNanos = Math.max(1, windowNanos / limit);
+        this.trustClientId = trustClientId;
+        this.exempt = exempt;
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async requests, such as event streams, are dispatched again to complete; they were charged on the way in.
+        if (request.getDispatcherType() == DispatcherType.ASYNC || exempt.test(request)) {
+            return true;
+        }
+        final long now = nanoClock.getAsLong();
+        final var arrival = arrivals.computeIfAbsent(clientKey(request), ignored -> new AtomicLong(now));
+        response.setHeader(LIMIT_HEADER, Integer.toString(limit));
+        while (true) {
+            final long current = arrival.get();
+            final long next = Math.max(current, now) + intervalNanos;
+            final long backlog = next - now;
+            if (backlog > windowNanos) {
+                final long retryAfter = backlog - windowNanos;
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(retryAfter)));
+                response.setHeader(REMAINING_HEADER, "0");
+                response.setHeader(RESET_HEADER, Long.toString(ceilSeconds(current - now)));
+                rejected.increment();
+                return false;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                response.setHeader(REMAINING_HEADER, Long.toString((windowNanos - backlog) / intervalNanos));
+                response.setHeader(RESET_HEADER, Long.toString(ceilSeconds(backlog)));
+                sweepIfLarge(now);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return requests rejected with 429 so far
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        final var clientId = trustClientId ? request.getHeader(CLIENT_ID_HEADER) : null;
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+
+    /*
+     * A client whose arrival time has passed has a full bucket, which is what a missing entry means too, so such
+     * entries can go. Racing with that client's own request at worst admits it one request early. At most one sweep
+     * runs per window.
+     */
+    private void sweepIfLarge(long now) {
+        final long sweepAt = nextSweep.get();
+        if (arrivals.size() > SWEEP_THRESHOLD
+                && now - sweepAt >= 0
+                && nextSweep.compareAndSet(sweepAt, now + windowNanos)) {
+            arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+            log.debug("Swept idle rate limit entries, {} clients remain.", arrivals.size());
+        }
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
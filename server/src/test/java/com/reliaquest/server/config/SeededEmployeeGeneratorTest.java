@@ -0,0 +1,50 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class SeededEmployeeGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameRoster() {
+        List<MockEmployee> first = new SeededEmployeeGenerator(42).generate(0, 5_000);
+        List<MockEmployee> second = new SeededEmployeeGenerator(42).generate(0, 5_000);
+
+        assertEquals(first, second);
+        assertEquals(5_000, first.stream().map(MockEmployee::getId).distinct().count());
+    }
+
+    @Test
+    void differentSeedsGenerateDifferentRosters() {
+        List<MockEmployee> first = new SeededEmployeeGenerator(42).generate(0, 100);
+        List<MockEmployee> second = new SeededEmployeeGenerator(43).generate(0, 100);
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void employeesDependOnlyOnSeedAndIndex() {
+        SeededEmployeeGenerator generator = new SeededEmployeeGenerator(7);
+        List<MockEmployee> parallel = generator.generate(1_000, 3_000);
+
+        assertEquals(LongStream.range(1_000, 3_000).mapToObj(generator::employee).toList(), parallel);
+        assertEquals(parallel.subList(500, 1_000), generator.generate(1_500, 2_000));
+    }
+
+    @Test
+    void generatedEmployeesAreValid() {
+        for (MockEmployee employee : new SeededEmployeeGenerator(42).generate(0, 1_000)) {
+            assertEquals(4, employee.getId().version());
+            assertEquals(2, employee.getId().variant());
+            assertTrue(employee.getSalary() >= 30_000 && employee.getSalary() < 500_000);
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70);
+            assertFalse(employee.getName().isBlank());
+            assertFalse(employee.getTitle().isBlank());
+            assertTrue(employee.getEmail().endsWith("@company.com"));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+class ServerConfigurationTest {
+
+    @Test
+    void backgroundFillIsReportedUntilItCompletes() throws Exception {
+        RosterFillHealthIndicator fillHealth = new RosterFillHealthIndicator();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread fill = ServerConfiguration.fillInBackground(
+                () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                fillHealth);
+        assertEquals(Status.UNKNOWN, fillHealth.health().getStatus());
+
+        release.countDown();
+        fill.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(Status.UP, fillHealth.health().getStatus());
+    }
+
+    @Test
+    void failedBackgroundFillIsReportedDown() throws Exception {
+        RosterFillHealthIndicator fillHealth = new RosterFillHealthIndicator();
+
+        Thread fill = ServerConfiguration.fillInBackground(
+                () -> {
+                    throw new IllegalStateException("out of direct memory");
+                },
+                fillHealth);
+        fill.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(Status.DOWN, fillHealth.health().getStatus());
+        assertTrue(fillHealth.health().getDetails().get("error").toString().contains("out of direct memory"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.HeapMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void journaledMutationsAreReplayed() throws IOException {
+        MockEmployeeStore store = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(store)) {
+            MockEmployee ann = employee("Ann", 100);
+            store.addAll(List.of(ann, employee("Bob", 200), employee("Cid", 300)));
+            store.removeFirstByName("Bob");
+            store.add(ann.toBuilder().salary(150).build());
+            store.sync();
+        }
+
+        assertEquals(contents(store), contents(recover()));
+    }
+
+    @Test
+    void tornTailOfNewestSegmentIsTruncated() throws IOException {
+        MockEmployeeStore store = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(store)) {
+            store.addAll(List.of(employee("Ann", 100), employee("Bob", 200)));
+            store.sync();
+        }
+        Path segment = files("journal-").get(0);
+        long intact = Files.size(segment);
+        ByteBuffer torn = JournalCodec.added(employee("Cid", 300));
+        torn.limit(torn.limit() - 3);
+        try (var channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(torn);
+        }
+
+        assertEquals(contents(store), contents(recover()));
+        assertEquals(intact, Files.size(segment));
+    }
+
+    @Test
+    void corruptFrameBeforeLaterSegmentsFailsRecovery() throws IOException {
+        MockEmployeeStore store = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(store)) {
+            store.addAll(List.of(employee("Ann", 100), employee("Bob", 200)));
+            store.sync();
+        }
+        MockEmployeeStore reopened = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(reopened)) {
+            reopened.add(employee("Cid", 300));
+            reopened.sync();
+        }
+        Path first = files("journal-").get(0);
+        try (var channel = FileChannel.open(first, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), Files.size(first) / 2);
+        }
+
+        MockEmployeeJournal journal = new MockEmployeeJournal(directory, true, 64, Duration.ZERO);
+        IOException failure = assertThrows(IOException.class, () -> journal.recover(new HeapMockEmployeeStore()));
+        assertTrue(failure.getMessage().contains(first.getFileName().toString()));
+    }
+
+    @Test
+    void snapshotsTakenWhileWritingLoseNothing() throws Exception {
+        MockEmployeeStore store = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(store)) {
+            Random random = new Random(42);
+            List<MockEmployee> live = new ArrayList<>();
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (!live.isEmpty() && random.nextInt(4) == 0) {
+                        MockEmployee removed = live.remove(random.nextInt(live.size()));
+                        store.removeById(removed.getId());
+                    } else if (!live.isEmpty() && random.nextInt(10) == 0) {
+                        int index = random.nextInt(live.size());
+                        MockEmployee replaced = live.get(index).toBuilder()
+                                .salary(random.nextInt(1_000_000))
+                                .build();
+                        live.set(index, replaced);
+                        store.add(replaced);
+                    } else {
+                        MockEmployee added = employee("Employee " + i, random.nextInt(1_000_000));
+                        live.add(added);
+                        store.add(added);
+                    }
+                }
+            });
+            writer.start();
+            for (int i = 0; i < 5; i++) {
+                journal.snapshot(store.findAll());
+            }
+            writer.join();
+            store.sync();
+        }
+
+        assertEquals(contents(store), contents(recover()));
+        assertEquals(1, files("snapshot-").size());
+        long snapshot = number(files("snapshot-").get(0));
+        assertTrue(files("journal-").stream().allMatch(segment -> number(segment) >= snapshot));
+    }
+
+    @Test
+    void failedWriterRefusesMutationsBeforeTheStoreAppliesThem() throws IOException {
+        MockEmployeeStore store = new HeapMockEmployeeStore();
+        try (MockEmployeeJournal journal = open(store)) {
+            MockEmployee ann = employee("Ann", 100);
+            store.addAll(List.of(ann, employee("Bob", 200)));
+            store.sync();
+            // The rotation to segment 2 cannot open a directory, which fails the writer.
+            Files.createDirectory(directory.resolve("journal-%019d.log".formatted(2)));
+            assertThrows(UncheckedIOException.class, () -> journal.snapshot(store.findAll()));
+            Set<MockEmployee> before = contents(store);
+            long version = store.version();
+
+            assertThrows(UncheckedIOException.class, () -> store.add(employee("Cid", 300)));
+            assertThrows(UncheckedIOException.class, () -> store.addAll(List.of(employee("Dee", 400))));
+            assertThrows(UncheckedIOException.class, () -> store.removeById(ann.getId()));
+            assertThrows(UncheckedIOException.class, () -> store.removeFirstByName("Bob"));
+            assertThrows(UncheckedIOException.class, () -> store.removeFirstByNames(List.of("Ann", "Bob")));
+
+            assertEquals(before, contents(store));
+            assertEquals(version, store.version());
+        }
+    }
+
+    private MockEmployeeJournal open(MockEmployeeStore store) throws IOException {
+        MockEmployeeJournal journal = new MockEmployeeJournal(directory, true, 64, Duration.ZERO);
+        journal.recover(store);
+        journal.start();
+        store.setMutationLog(journal);
+        return journal;
+    }
+
+    private MockEmployeeStore recover() throws IOException {
+        MockEmployeeStore recovered = new HeapMockEmployeeStore();
+        MockEmployeeJournal journal = new MockEmployeeJournal(directory, true, 64, Duration.ZERO);
+        assertTrue(journal.recover(recovered));
+        return recovered;
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long number(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static Set<MockEmployee> contents(MockEmployeeStore store) {
+        return new HashSet<>(store.findAll());
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Engineer", "employee@company.com");
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ColumnarMockEmployeeStoreTest {
+
+    private static final List<String> NAMES =
+            List.of("Ann Lee", "ANN LEE", "Bob Stone", "Zo\u00eb \u00c5dahl", "Cid", "Dee Ann");
+    private static final List<String> FRAGMENTS = List.of("ann", "ZO", "\u00eb", "stone 1", "\u00e5dahl", "x");
+
+    private final ColumnarMockEmployeeStore store = new ColumnarMockEmployeeStore();
+    private final HeapMockEmployeeStore reference = new HeapMockEmployeeStore();
+
+    @Test
+    void randomMutationsMatchTheHeapStore() {
+        Random random = new Random(7);
+        List<UUID> ids = new ArrayList<>();
+        int compactions = 0;
+        int storedRows = 0;
+        for (int i = 0; i < 40_000; i++) {
+            // Alternately grows and shrinks the roster, so removed rows pile up and get compacted away.
+            boolean growing = (i / 5_000) % 2 == 0;
+            int operation = random.nextInt(10);
+            if (ids.isEmpty() || operation < (growing ? 6 : 2)) {
+                MockEmployee added = employee(random, UUID.randomUUID());
+                ids.add(added.getId());
+                assertEquals(reference.add(added), store.add(added));
+            } else if (operation < (growing ? 7 : 3)) {
+                MockEmployee replaced = employee(random, ids.get(random.nextInt(ids.size())));
+                assertEquals(reference.add(replaced), store.add(replaced));
+            } else if (operation < 7) {
+                UUID id = ids.get(random.nextInt(ids.size()));
+                assertEquals(reference.removeById(id), store.removeById(id));
+            } else if (operation < 9) {
+                String name = name(random);
+                assertEquals(reference.removeFirstByName(name), store.removeFirstByName(name));
+            } else {
+                List<String> names = List.of(name(random), name(random), name(random));
+                assertEquals(reference.removeFirstByNames(names), store.removeFirstByNames(names));
+            }
+            if (store.storedRows() < storedRows) {
+                compactions++;
+            }
+            storedRows = store.storedRows();
+            assertTrue(
+                    storedRows - store.size() <= Math.max(store.size(), ColumnarMockEmployeeStore.MIN_COMPACTION_ROWS));
+            if (i % 500 == 0) {
+                assertSameContents(random, ids);
+            }
+        }
+
+        assertSameContents(random, ids);
+        assertTrue(compactions > 1);
+    }
+
+    @Test
+    void compactionReclaimsRemovedRowsAndKeepsCursors() {
+        List<MockEmployee> added = new ArrayList<>();
+        for (int i = 0; i < 3 * ColumnarMockEmployeeStore.MIN_COMPACTION_ROWS; i++) {
+            added.add(new MockEmployee(UUID.randomUUID(), "Employee " + i, i, 30, "Engineer", i + "@company.com"));
+        }
+        store.addAll(added);
+        MockEmployeeStore.Page first = store.page(0, 10);
+
+        added.subList(10, added.size() - 10).forEach(employee -> store.removeById(employee.getId()));
+
+        assertEquals(20, store.size());
+        assertTrue(store.storedRows() < ColumnarMockEmployeeStore.MIN_COMPACTION_ROWS);
+        assertEquals(added.subList(0, 10), first.employees());
+        MockEmployeeStore.Page second = store.page(first.lastSequence(), 10);
+        assertEquals(added.subList(added.size() - 10, added.size()), second.employees());
+        assertFalse(second.hasMore());
+        assertEquals(Optional.empty(), store.findById(added.get(10).getId()));
+        assertEquals(Optional.of(added.size() - 1), store.highestSalary());
+
+        MockEmployee restored = added.get(500);
+        store.add(restored);
+        assertEquals(Optional.of(restored), store.findById(restored.getId()));
+        assertEquals(Optional.of(added.get(0)), store.removeFirstByName("employee 0"));
+        assertEquals(Optional.of(restored), store.removeFirstByName("Employee 500"));
+        assertEquals(List.of(added.get(added.size() - 1)), store.topBySalary(1));
+    }
+
+    @Test
+    void mutationsDuringCompactionCopyAreCaughtUp() {
+        Random random = new Random(11);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3 * ColumnarMockEmployeeStore.MIN_COMPACTION_ROWS; i++) {
+            MockEmployee added = employee(random, UUID.randomUUID());
+            ids.add(added.getId());
+            reference.add(added);
+            store.add(added);
+        }
+        int[] compactions = {0};
+        store.compactionCopied = () -> {
+            compactions[0]++;
+            // Made from another thread, which would wait for the whole copy if it held the lock.
+            CompletableFuture.runAsync(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            UUID id = ids.get(random.nextInt(ids.size()));
+                            if (i % 3 == 0) {
+                                MockEmployee added = employee(random, i % 2 == 0 ? id : UUID.randomUUID());
+                                ids.add(added.getId());
+                                assertEquals(reference.add(added), store.add(added));
+                            } else if (i % 3 == 1) {
+                                assertEquals(reference.removeById(id), store.removeById(id));
+                            } else {
+                                String name = name(random);
+                                assertEquals(reference.removeFirstByName(name), store.removeFirstByName(name));
+                            }
+                        }
+                    })
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .join();
+        };
+
+        for (UUID id : List.copyOf(ids.subList(0, 2 * ColumnarMockEmployeeStore.MIN_COMPACTION_ROWS))) {
+            assertEquals(reference.removeById(id), store.removeById(id));
+        }
+
+        assertEquals(1, compactions[0]);
+        assertSameContents(random, ids);
+        assertTrue(store.storedRows() < 2 * store.size());
+    }
+
+    private void assertSameContents(Random random, List<UUID> ids) {
+        assertEquals(List.copyOf(reference.findAll()), List.copyOf(store.findAll()));
+        assertEquals(reference.size(), store.size());
+        assertEquals(reference.version(), store.version());
+        assertEquals(reference.highestSalary(), store.highestSalary());
+        assertEquals(reference.topBySalary(25), store.topBySalary(25));
+        String fragment = FRAGMENTS.get(random.nextInt(FRAGMENTS.size()));
+        assertEquals(reference.searchByName(fragment), store.searchByName(fragment));
+        UUID id = ids.get(random.nextInt(ids.size()));
+        assertEquals(reference.findById(id), store.findById(id));
+        long after = 0;
+        MockEmployeeStore.Page expected;
+        do {
+            expected = reference.page(after, 97);
+            assertEquals(expected, store.page(after, 97));
+            after = expected.lastSequence();
+        } while (expected.hasMore());
+    }
+
+    private static MockEmployee employee(Random random, UUID id) {
+        return new MockEmployee(
+                id,
+                random.nextInt(50) == 0 ? null : name(random),
+                random.nextInt(20) == 0 ? null : random.nextInt(100),
+                random.nextInt(20) == 0 ? null : 18 + random.nextInt(50),
+                random.nextInt(20) == 0 ? null : "Title " + random.nextInt(5),
+                random.nextInt(20) == 0 ? null : "employee" + random.nextInt(1_000) + "@company.com");
+    }
+
+    private static String name(Random random) {
+        return NAMES.get(random.nextInt(NAMES.size())) + " " + random.nextInt(40);
+    }
+}
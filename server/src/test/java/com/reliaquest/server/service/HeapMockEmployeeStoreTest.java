@@ -0,0 +1,166 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class HeapMockEmployeeStoreTest {
+
+    private final HeapMockEmployeeStore store = new HeapMockEmployeeStore();
+
+    @Test
+    void pagesAreStableWhileEarlierAndLaterEmployeesAreRemoved() {
+        List<MockEmployee> added = List.of(
+                employee("Ann", 100),
+                employee("Bob", 200),
+                employee("Cid", 300),
+                employee("Dee", 400),
+                employee("Eve", 500));
+        store.addAll(added);
+
+        MockEmployeeStore.Page first = store.page(0, 2);
+        assertEquals(added.subList(0, 2), first.employees());
+        assertTrue(first.hasMore());
+
+        store.removeById(added.get(1).getId());
+        store.removeFirstByName("Cid");
+
+        MockEmployeeStore.Page second = store.page(first.lastSequence(), 2);
+        assertEquals(added.subList(3, 5), second.employees());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void addReplacesEmployeeWithSameIdAndMovesItLast() {
+        MockEmployee ann = employee("Ann", 100);
+        MockEmployee bob = employee("Bob", 200);
+        store.addAll(List.of(ann, bob));
+
+        MockEmployee renamed = ann.toBuilder().name("Anna").salary(50).build();
+        store.add(renamed);
+
+        assertEquals(List.of(bob, renamed), List.copyOf(store.findAll()));
+        assertEquals(Optional.of(renamed), store.findById(ann.getId()));
+        assertEquals(List.of(bob, renamed), store.topBySalary(10));
+        assertTrue(store.searchByName("ann").contains(renamed));
+        assertEquals(Optional.empty(), store.removeFirstByName("Ann"));
+    }
+
+    @Test
+    void removeFirstByNameRemovesEarliestIgnoringCase() {
+        MockEmployee first = employee("Ann", 100);
+        MockEmployee second = employee("ann", 200);
+        store.addAll(List.of(first, second));
+
+        assertEquals(
+                List.of(Optional.of(first), Optional.of(second), Optional.empty()),
+                store.removeFirstByNames(List.of("ANN", "Ann", "ann")));
+        assertEquals(0, store.size());
+        assertEquals(Optional.empty(), store.findById(first.getId()));
+    }
+
+    @Test
+    void salaryQueriesFollowRemovalsAndOrderTiesByInsertion() {
+        MockEmployee low = employee("Ann", 100);
+        MockEmployee tieFirst = employee("Bob", 300);
+        MockEmployee tieSecond = employee("Cid", 300);
+        MockEmployee top = employee("Dee", 900);
+        store.addAll(List.of(low, tieFirst, tieSecond, top));
+
+        assertEquals(Optional.of(900), store.highestSalary());
+        assertEquals(List.of(top, tieFirst, tieSecond), store.topBySalary(3));
+
+        store.removeById(top.getId());
+        assertEquals(Optional.of(300), store.highestSalary());
+        assertEquals(List.of(tieFirst, tieSecond, low), store.topBySalary(10));
+
+        store.removeFirstByNames(List.of("Ann", "Bob", "Cid"));
+        assertEquals(Optional.empty(), store.highestSalary());
+    }
+
+    @Test
+    void mutationsAreLoggedInOrderWithTheVersionTheyProduced() {
+        List<String> logged = new ArrayList<>();
+        store.setMutationLog(new MockEmployeeMutationLog() {
+            @Override
+            public void added(long version, MockEmployee employee) {
+                logged.add(version + "+" + employee.getName());
+            }
+
+            @Override
+            public void removed(long version, MockEmployee employee) {
+                logged.add(version + "-" + employee.getName());
+            }
+
+            @Override
+            public void sync() {}
+        });
+
+        store.add(employee("Ann", 100));
+        store.addAll(List.of(employee("Bob", 200), employee("Cid", 300)));
+        store.removeFirstByName("bob");
+        store.removeFirstByName("nobody");
+
+        assertEquals(List.of("1+Ann", "2+Bob", "3+Cid", "4-Bob"), logged);
+        assertEquals(4, store.version());
+    }
+
+    @Test
+    void concurrentWritersLoseNoEmployees() throws Exception {
+        int threads = 8;
+        int perThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.add(employee("Employee " + thread + "-" + i, i + 1));
+                        if (i % 10 == 0) {
+                            store.removeFirstByName("Employee " + thread + "-" + i);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expected = threads * perThread * 9 / 10;
+        assertEquals(expected, store.size());
+        assertEquals(threads * perThread * 11 / 10, store.version());
+        Set<UUID> paged = new HashSet<>();
+        long after = 0;
+        MockEmployeeStore.Page page;
+        do {
+            page = store.page(after, 500);
+            page.employees().forEach(employee -> assertTrue(paged.add(employee.getId())));
+            after = page.lastSequence();
+        } while (page.hasMore());
+        assertEquals(expected, paged.size());
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Engineer", name.toLowerCase() + "@company.com");
+    }
+}
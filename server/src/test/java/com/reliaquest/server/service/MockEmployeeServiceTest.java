@@ -0,0 +1,78 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new HeapMockEmployeeStore();
+        MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(100);
+        store.setMutationLog(changeLog);
+        service = new MockEmployeeService(
+                new Faker(), store, Validation.buildDefaultValidatorFactory().getValidator(), changeLog);
+    }
+
+    @Test
+    void searchMatchesNameFragmentsIgnoringCase() {
+        MockEmployee alice = employee("Alice Smith", 100);
+        MockEmployee malik = employee("Malik Jones", 200);
+        store.addAll(List.of(alice, malik, employee("Bob Stone", 300)));
+
+        assertEquals(List.of(alice, malik), service.searchByName("ALI"));
+        assertEquals(List.of(), service.searchByName("zed"));
+    }
+
+    @Test
+    void highestSalaryIsEmptyForAnEmptyRoster() {
+        assertEquals(Optional.empty(), service.getHighestSalary());
+
+        store.addAll(List.of(employee("Alice", 100), employee("Bob", 300)));
+        assertEquals(Optional.of(300), service.getHighestSalary());
+    }
+
+    @Test
+    void topEarnersAreLimitedAndOrderedBySalary() {
+        MockEmployee bob = employee("Bob", 300);
+        MockEmployee carol = employee("Carol", 200);
+        store.addAll(List.of(employee("Alice", 100), bob, carol));
+
+        assertEquals(List.of(bob, carol), service.getTopEarners(2));
+        assertThrows(InvalidRequestException.class, () -> service.getTopEarners(0));
+        assertThrows(
+                InvalidRequestException.class, () -> service.getTopEarners(MockEmployeeService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void rosterVersionIsCurrentUntilTheNextChange() {
+        String eTag = service.getRosterETag();
+        assertTrue(service.isRosterVersionCurrent(service.getRosterVersion()));
+        assertTrue(service.isRosterVersionCurrent(eTag));
+        assertTrue(service.isRosterVersionCurrent("W/" + eTag));
+        assertFalse(service.isRosterVersionCurrent(null));
+        assertFalse(service.isRosterVersionCurrent("*"));
+
+        MockEmployee alice = employee("Alice", 100);
+        store.add(alice);
+
+        assertFalse(service.isRosterVersionCurrent(eTag));
+        assertEquals(alice, service.getChangesSince(eTag).changes().get(0).employee());
+        assertTrue(service.isRosterVersionCurrent(service.getChangesSince(eTag).version()));
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Engineer", "employee@company.com");
+    }
+}
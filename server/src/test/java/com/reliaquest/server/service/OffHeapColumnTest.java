@@ -0,0 +1,46 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapColumnTest {
+
+    @Test
+    void valuesSurviveGrowthAcrossPages() {
+        OffHeapColumn longs = new OffHeapColumn(Long.BYTES);
+        longs.ensureCapacity(1);
+        longs.putLong(0, Long.MIN_VALUE);
+
+        // More pages than the initial page table holds.
+        int rows = OffHeapColumn.PAGE_ROWS * 17 + 3;
+        longs.ensureCapacity(rows);
+        for (int row = 1; row < rows; row++) {
+            longs.putLong(row, row * 0x9E3779B97F4A7C15L);
+        }
+
+        assertEquals(Long.MIN_VALUE, longs.getLong(0));
+        for (int row = 1; row < rows; row++) {
+            assertEquals(row * 0x9E3779B97F4A7C15L, longs.getLong(row));
+        }
+    }
+
+    @Test
+    void narrowColumnsAddressRowsAtPageBoundaries() {
+        OffHeapColumn ints = new OffHeapColumn(Integer.BYTES);
+        OffHeapColumn bytes = new OffHeapColumn(Byte.BYTES);
+        int[] boundaryRows = {0, OffHeapColumn.PAGE_ROWS - 1, OffHeapColumn.PAGE_ROWS, 2 * OffHeapColumn.PAGE_ROWS};
+        ints.ensureCapacity(2 * OffHeapColumn.PAGE_ROWS + 1);
+        bytes.ensureCapacity(2 * OffHeapColumn.PAGE_ROWS + 1);
+        for (int row : boundaryRows) {
+            ints.putInt(row, -row);
+            bytes.putByte(row, (byte) row);
+        }
+
+        for (int row : boundaryRows) {
+            assertEquals(-row, ints.getInt(row));
+            assertEquals((byte) row, bytes.getByte(row));
+        }
+        assertEquals(0, ints.getInt(1));
+    }
+}
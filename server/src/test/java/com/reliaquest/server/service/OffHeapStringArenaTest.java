@@ -0,0 +1,46 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OffHeapStringArenaTest {
+
+    private final OffHeapStringArena arena = new OffHeapStringArena();
+
+    @Test
+    void stringsRoundTripAcrossPages() {
+        assertEquals(OffHeapStringArena.NULL, arena.add(null));
+        assertNull(arena.get(OffHeapStringArena.NULL));
+
+        List<String> values = new ArrayList<>(List.of("", "Ann", "Zo\u00eb \u00c5dahl", "\u540d\u524d"));
+        // Several pages of small strings, and one larger than a page in between.
+        for (int i = 0; i < 300_000; i++) {
+            values.add(i == 150_000 ? "x".repeat(5 << 20) : "Employee " + i);
+        }
+        List<Long> addresses = new ArrayList<>();
+        values.forEach(value -> addresses.add(arena.add(value)));
+
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), arena.get(addresses.get(i)));
+        }
+    }
+
+    @Test
+    void asciiSearchIgnoresCaseAndDefersOtherStrings() {
+        long ann = arena.add("Ann LEE");
+
+        assertEquals(OffHeapStringArena.MATCH, arena.containsIgnoreAsciiCase(ann, ascii("n le")));
+        assertEquals(OffHeapStringArena.MATCH, arena.containsIgnoreAsciiCase(ann, ascii("ann lee")));
+        assertEquals(OffHeapStringArena.NO_MATCH, arena.containsIgnoreAsciiCase(ann, ascii("ann lee!")));
+        assertEquals(OffHeapStringArena.NO_MATCH, arena.containsIgnoreAsciiCase(ann, ascii("bob")));
+        assertEquals(OffHeapStringArena.NOT_ASCII, arena.containsIgnoreAsciiCase(arena.add("Zo\u00eb"), ascii("zo")));
+    }
+
+    private static byte[] ascii(String lowerCase) {
+        return lowerCase.getBytes(StandardCharsets.US_ASCII);
+    }
+}
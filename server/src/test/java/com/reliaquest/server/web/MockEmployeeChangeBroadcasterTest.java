@@ -0,0 +1,131 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class MockEmployeeChangeBroadcasterTest {
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final MockEmployeeChangeBroadcaster broadcaster =
+            new MockEmployeeChangeBroadcaster(2, Duration.ofHours(1), () -> emitter);
+
+    @AfterEach
+    void tearDown() {
+        emitter.unblock.countDown();
+        broadcaster.close();
+    }
+
+    @Test
+    void overflowingSubscriberIsSentResyncThenNewChanges() throws Exception {
+        emitter.unblock = new CountDownLatch(1);
+        broadcaster.subscribe(() -> null, version -> "v" + version);
+
+        broadcaster.added(1, employee());
+        assertTrue(emitter.blocked.await(5, TimeUnit.SECONDS));
+        broadcaster.added(2, employee());
+        broadcaster.added(3, employee());
+        broadcaster.removed(4, employee());
+        broadcaster.added(5, employee());
+        emitter.unblock.countDown();
+
+        assertEquals(List.of("change v1", "resync", "change v5"), emitter.take(3));
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void resyncBacklogIsSentBeforeLiveChanges() throws Exception {
+        broadcaster.subscribe(MockEmployeeChanges::resync, version -> "v" + version);
+        broadcaster.added(8, employee());
+
+        assertEquals(List.of("resync", "change v8"), emitter.take(2));
+    }
+
+    @Test
+    void changesInBothBacklogAndLiveStreamAreSentOnce() throws Exception {
+        MockEmployee first = employee();
+        MockEmployee second = employee();
+        broadcaster.subscribe(
+                () -> {
+                    // A change made while the backlog is read reaches the subscriber both ways.
+                    broadcaster.added(2, second);
+                    return new MockEmployeeChanges("v2", false, List.of(change(1, first), change(2, second)));
+                },
+                version -> "v" + version);
+        broadcaster.removed(3, first);
+
+        assertEquals(List.of("change v1", "change v2", "change v3"), emitter.take(3));
+        assertNull(emitter.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static MockEmployeeChange change(long version, MockEmployee employee) {
+        return new MockEmployeeChange(version, MockEmployeeChange.Type.CREATED, employee);
+    }
+
+    private static MockEmployee employee() {
+        return new MockEmployee(UUID.randomUUID(), "Ann", 100, 30, "Engineer", "ann@company.com");
+    }
+
+    /*
+     * Records each event as its name and id. Its first send blocks until unblock is counted down, standing in for a
+     * slow client.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile CountDownLatch unblock = new CountDownLatch(0);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            blocked.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (!(part.getData() instanceof MockEmployeeChange)) {
+                    text.append(part.getData());
+                }
+            }
+            events.add(describe(text.toString()));
+        }
+
+        List<String> take(int count) throws InterruptedException {
+            var taken = new ArrayList<String>();
+            for (int i = 0; i < count; i++) {
+                var event = events.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "only received " + taken);
+                taken.add(event);
+            }
+            return taken;
+        }
+
+        private static String describe(String event) {
+            if (event.contains("event:" + MockEmployeeChangeBroadcaster.RESYNC_EVENT)) {
+                return "resync";
+            }
+            if (!event.contains("event:" + MockEmployeeChangeBroadcaster.CHANGE_EVENT)) {
+                return "heartbeat";
+            }
+            int id = event.indexOf("id:") + 3;
+            return "change " + event.substring(id, event.indexOf('\n', id));
+        }
+    }
+}
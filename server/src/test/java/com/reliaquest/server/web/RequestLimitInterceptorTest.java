@@ -0,0 +1,185 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimitInterceptorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong now;
+    private RequestLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000 * SECOND);
+        interceptor = new RequestLimitInterceptor(5, Duration.ofSeconds(10), false, request -> false, now::get);
+    }
+
+    @Test
+    void burstIsAdmittedThenRejectedWithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertTrue(admit(interceptor, "a", response));
+            assertEquals("5", response.getHeader(RequestLimitInterceptor.LIMIT_HEADER));
+            assertEquals(Integer.toString(4 - i), response.getHeader(RequestLimitInterceptor.REMAINING_HEADER));
+        }
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(admit(interceptor, "a", rejected));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", rejected.getHeader(RequestLimitInterceptor.REMAINING_HEADER));
+        assertEquals("10", rejected.getHeader(RequestLimitInterceptor.RESET_HEADER));
+        assertEquals(1, interceptor.rejectedCount());
+    }
+
+    @Test
+    void sustainedRateIsOneRequestPerInterval() {
+        for (int i = 0; i < 5; i++) {
+            admit(interceptor, "a", new MockHttpServletResponse());
+        }
+
+        int admitted = 0;
+        for (int second = 0; second < 20; second++) {
+            now.addAndGet(SECOND);
+            for (int attempt = 0; attempt < 3; attempt++) {
+                if (admit(interceptor, "a", new MockHttpServletResponse())) {
+                    admitted++;
+                }
+            }
+        }
+
+        assertEquals(10, admitted);
+    }
+
+    @Test
+    void retryAfterIsTheExactTimeUntilAdmission() {
+        RequestLimitInterceptor thirds =
+                new RequestLimitInterceptor(3, Duration.ofSeconds(10), false, request -> false, now::get);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(admit(thirds, "a", new MockHttpServletResponse()));
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(admit(thirds, "a", rejected));
+        assertEquals("4", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        // The interval is 10s / 3, truncated to 3_333_333_333ns; the fourth request waits one interval less 1ns.
+        now.addAndGet(3_333_333_331L);
+        assertFalse(admit(thirds, "a", new MockHttpServletResponse()));
+        now.addAndGet(1);
+        assertTrue(admit(thirds, "a", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void clientsAreLimitedIndependently() {
+        for (int i = 0; i < 5; i++) {
+            admit(interceptor, "a", new MockHttpServletResponse());
+        }
+        assertFalse(admit(interceptor, "a", new MockHttpServletResponse()));
+
+        assertTrue(admit(interceptor, "b", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void clientIdHeaderIsIgnoredUnlessTrusted() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("a", "id-" + i), new MockHttpServletResponse(), null));
+        }
+        assertFalse(interceptor.preHandle(request("a", "fresh"), new MockHttpServletResponse(), null));
+
+        RequestLimitInterceptor trusting =
+                new RequestLimitInterceptor(1, Duration.ofSeconds(10), true, request -> false, now::get);
+        assertTrue(trusting.preHandle(request("proxy", "a"), new MockHttpServletResponse(), null));
+        assertFalse(trusting.preHandle(request("proxy", "a"), new MockHttpServletResponse(), null));
+        assertTrue(trusting.preHandle(request("proxy", "b"), new MockHttpServletResponse(), null));
+        assertTrue(trusting.preHandle(request("proxy", " "), new MockHttpServletResponse(), null));
+        assertFalse(admit(trusting, "proxy", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void exemptAndAsyncDispatchesAreNotCharged() {
+        RequestLimitInterceptor exempting = new RequestLimitInterceptor(
+                1, Duration.ofSeconds(10), false, request -> "/exempt".equals(request.getRequestURI()), now::get);
+        MockHttpServletRequest exempt = request("a");
+        exempt.setRequestURI("/exempt");
+        MockHttpServletRequest redispatch = request("a");
+        redispatch.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(exempting.preHandle(exempt, response, null));
+            assertTrue(exempting.preHandle(redispatch, response, null));
+        }
+        assertNull(response.getHeader(RequestLimitInterceptor.LIMIT_HEADER));
+
+        assertTrue(admit(exempting, "a", new MockHttpServletResponse()));
+        assertFalse(admit(exempting, "a", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void concurrentRequestsAreAdmittedExactlyUpToTheLimit() throws Exception {
+        RequestLimitInterceptor shared =
+                new RequestLimitInterceptor(50, Duration.ofSeconds(10), false, request -> false, now::get);
+        int threads = 8;
+        int requestsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> admitted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                admitted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        if (admit(shared, "a", new MockHttpServletResponse())) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : admitted) {
+                total += future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(50, total);
+            assertEquals(threads * requestsPerThread - 50, shared.rejectedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean admit(RequestLimitInterceptor interceptor, String client, MockHttpServletResponse response) {
+        return interceptor.preHandle(request(client), response, null);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = request(remoteAddress);
+        request.addHeader(RequestLimitInterceptor.CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+}